@@ -63,6 +63,7 @@ public abstract class BaseXServlet extends HttpServlet {
     try {
       conn.authenticate(username);
       run(conn);
+      conn.finish();
     } catch(final HTTPException ex) {
       conn.error(ex.getStatus(), Util.message(ex));
     } catch(final LoginException ex) {
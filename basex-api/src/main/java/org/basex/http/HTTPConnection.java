@@ -6,6 +6,8 @@ import static org.basex.util.http.HttpText.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.regex.*;
+import java.util.zip.*;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -14,6 +16,7 @@ import org.basex.core.*;
 import org.basex.core.StaticOptions.*;
 import org.basex.core.jobs.*;
 import org.basex.core.users.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.server.*;
 import org.basex.server.Log.*;
@@ -28,6 +31,9 @@ import org.basex.util.http.*;
  * @author Christian Gruen
  */
 public final class HTTPConnection implements ClientInfo {
+  /** Single byte range. */
+  private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d{0,18})-(\\d{0,18})");
+
   /** HTTP servlet request. */
   public final HttpServletRequest request;
   /** HTTP servlet response. */
@@ -49,6 +55,8 @@ public final class HTTPConnection implements ClientInfo {
   public String method;
   /** Serialization parameters. */
   private SerializerOptions serializer;
+  /** Output stream of the response (assigned when it is requested for the first time). */
+  private OutputStream output;
 
   /**
    * Constructor.
@@ -117,6 +125,106 @@ public final class HTTPConnection implements ClientInfo {
     response.setContentType(mt.toString());
   }
 
+  /**
+   * Returns the output stream for the response body. The size of the response buffer will be
+   * adjusted to the chunk size, and the output will be compressed if this is enabled and
+   * if the client accepts gzip or deflate encoding.
+   * @return output stream
+   * @throws IOException I/O exception
+   */
+  public OutputStream output() throws IOException {
+    if(output == null) {
+      final StaticOptions soptions = context.soptions;
+      final int chunk = soptions.get(StaticOptions.CHUNKSIZE);
+      if(chunk > 0 && !response.isCommitted()) response.setBufferSize(chunk);
+
+      final OutputStream os = response.getOutputStream();
+      final int level = soptions.get(StaticOptions.COMPRESSION);
+      final String encoding = level > 0 && !response.containsHeader(CONTENT_ENCODING) ?
+        encoding() : null;
+      output = encoding != null ? new CompressedOutput(os, encoding, level) : os;
+    }
+    return output;
+  }
+
+  /**
+   * Finishes the output of the response body.
+   * @throws IOException I/O exception
+   */
+  void finish() throws IOException {
+    if(output instanceof CompressedOutput) output.close();
+  }
+
+  /**
+   * Returns the content encoding that is preferred by the client.
+   * @return {@link HttpText#GZIP}, {@link HttpText#DEFLATE}, or {@code null}
+   */
+  private String encoding() {
+    final String accept = request.getHeader(ACCEPT_ENCODING);
+    if(accept == null) return null;
+
+    String encoding = null;
+    for(final String value : accept.split(",")) {
+      // skip encodings with quality 0
+      final String[] params = value.split(";");
+      final String name = params[0].trim().toLowerCase(Locale.ENGLISH);
+      if(params.length > 1 && params[1].trim().matches("q=0(\\.0*)?")) continue;
+      if(name.equals(GZIP)) return GZIP;
+      if(name.equals(DEFLATE)) encoding = DEFLATE;
+    }
+    return encoding;
+  }
+
+  /**
+   * Checks if binary items will be output unchanged by the current serialization parameters.
+   * @return result of check
+   */
+  public boolean rawBinaries() {
+    final SerializerOptions opts = sopts();
+    return opts.get(SerializerOptions.METHOD) == SerialMethod.BASEX &&
+      opts.yes(SerializerOptions.BINARY) && !opts.yes(SerializerOptions.BYTE_ORDER_MARK) &&
+      opts.get(SerializerOptions.LIMIT) == -1;
+  }
+
+  /**
+   * Writes a binary file to the response. If a single byte range is requested,
+   * only the specified part of the file will be returned.
+   * @param file file
+   * @throws IOException I/O exception
+   */
+  public void binary(final IOFile file) throws IOException {
+    final long length = file.length();
+    long start = 0, end = length;
+    response.setHeader(ACCEPT_RANGES, BYTES);
+
+    // multiple and invalid ranges will be ignored
+    final String range = request.getHeader(RANGE);
+    final Matcher matcher = range != null ? BYTE_RANGE.matcher(range.trim()) : null;
+    if(matcher != null && matcher.matches()) {
+      final String first = matcher.group(1), last = matcher.group(2);
+      final long f = first.isEmpty() ? -1 : Long.parseLong(first);
+      final long l = last.isEmpty() ? -1 : Long.parseLong(last);
+      if((f != -1 || l != -1) && (f == -1 || l == -1 || f <= l)) {
+        if(f == -1) {
+          // suffix range: last bytes of the file
+          start = Math.max(0, length - l);
+        } else {
+          start = f;
+          if(l != -1) end = Math.min(length, l + 1);
+        }
+        if(start >= end) {
+          response.setHeader(CONTENT_RANGE, BYTES + " */" + length);
+          response.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+          return;
+        }
+        response.setHeader(CONTENT_RANGE, BYTES + ' ' + start + '-' + (end - 1) + '/' + length);
+        response.setStatus(SC_PARTIAL_CONTENT);
+      }
+    }
+    response.setContentLengthLong(end - start);
+    file.transfer(response.getOutputStream(), start, end - start);
+  }
+
   /**
    * Returns the URL path. The path always starts with a slash.
    * @return path path
@@ -403,7 +511,7 @@ public final class HTTPConnection implements ClientInfo {
     final String info = ex.getMessage();
     log(code, info);
     try {
-      response.resetBuffer();
+      reset();
       response.setStatus(code);
       response.setContentType(MediaType.TEXT_PLAIN + "; " + CHARSET + '=' + Strings.UTF8);
       // client directive: do not cache result (HTTP 1.1, old clients)
@@ -427,7 +535,7 @@ public final class HTTPConnection implements ClientInfo {
   @SuppressWarnings("deprecation")
   public void status(final int code, final String message, final String body) throws IOException {
     try {
-      response.resetBuffer();
+      reset();
       if(code == SC_UNAUTHORIZED && !response.containsHeader(WWW_AUTHENTICATE)) {
         final TokenBuilder header = new TokenBuilder();
         header.add(auth).add(' ').add(Request.REALM).add("=\"").add(Prop.NAME).add('"');
@@ -457,6 +565,18 @@ public final class HTTPConnection implements ClientInfo {
     }
   }
 
+  /**
+   * Resets the response buffer. Compressed output will be discarded.
+   */
+  private void reset() {
+    response.resetBuffer();
+    if(output instanceof CompressedOutput) {
+      ((CompressedOutput) output).discard();
+      response.setHeader(CONTENT_ENCODING, null);
+      output = null;
+    }
+  }
+
   /**
    * Sets a status and sends an info message.
    * @param code status code
@@ -474,4 +594,123 @@ public final class HTTPConnection implements ClientInfo {
     sb.append(", Error: ").append(Util.message(ex));
     log(SC_INTERNAL_SERVER_ERROR, sb.toString());
   }
+
+  /**
+   * Output stream for compressing the response body. Compression starts when the first byte
+   * is written: no compressed data and no Content-Encoding header will be output if the body
+   * is empty, or if the status code or request method indicates that there is no body.
+   */
+  private final class CompressedOutput extends OutputStream {
+    /** Servlet output stream. */
+    private final OutputStream os;
+    /** Content encoding ({@link HttpText#GZIP} or {@link HttpText#DEFLATE}). */
+    private final String encoding;
+    /** Compression level. */
+    private final int level;
+    /** Target stream ({@code null} if no bytes have been written yet). */
+    private OutputStream target;
+
+    /**
+     * Constructor.
+     * @param os servlet output stream
+     * @param encoding content encoding
+     * @param level compression level
+     */
+    private CompressedOutput(final OutputStream os, final String encoding, final int level) {
+      this.os = os;
+      this.encoding = encoding;
+      this.level = level;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      target().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      if(len > 0) target().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if(target != null) target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      // write remaining compressed data and trailer
+      if(target != null) target.close();
+    }
+
+    /**
+     * Discards the compressed output and releases the native resources of the compressor.
+     */
+    private void discard() {
+      if(target instanceof GZIPOutput) ((GZIPOutput) target).end();
+      else if(target instanceof DeflateOutput) ((DeflateOutput) target).end();
+      target = null;
+    }
+
+    /**
+     * Returns the target stream. Compressed output is initialized with the first call.
+     * @return target stream
+     * @throws IOException I/O exception
+     */
+    private OutputStream target() throws IOException {
+      if(target == null) {
+        final int status = response.getStatus();
+        if(status < SC_OK || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED ||
+            method.equals(HttpMethod.HEAD.name())) {
+          target = os;
+        } else {
+          response.setHeader(CONTENT_ENCODING, encoding);
+          response.addHeader(VARY, ACCEPT_ENCODING);
+          target = encoding.equals(GZIP) ? new GZIPOutput(os, level) : new DeflateOutput(os, level);
+        }
+      }
+      return target;
+    }
+  }
+
+  /** Gzip output stream with a custom compression level. */
+  private static final class GZIPOutput extends GZIPOutputStream {
+    /**
+     * Constructor.
+     * @param os output stream
+     * @param level compression level
+     * @throws IOException I/O exception
+     */
+    private GZIPOutput(final OutputStream os, final int level) throws IOException {
+      super(os, true);
+      def.setLevel(level);
+    }
+
+    /**
+     * Releases the native resources of the compressor without writing remaining data.
+     */
+    private void end() {
+      def.end();
+    }
+  }
+
+  /** Deflate output stream with a custom compression level. */
+  private static final class DeflateOutput extends DeflaterOutputStream {
+    /**
+     * Constructor.
+     * @param os output stream
+     * @param level compression level
+     */
+    private DeflateOutput(final OutputStream os, final int level) {
+      super(os, true);
+      def.setLevel(level);
+    }
+
+    /**
+     * Releases the native resources of the compressor without writing remaining data.
+     */
+    private void end() {
+      def.end();
+    }
+  }
 }
@@ -66,7 +66,7 @@ class RESTQuery extends RESTCmd {
         conn.initResponse();
       }
       // run command
-      run(cmd, conn.response.getOutputStream());
+      run(cmd, conn.output());
     }
   }
 
@@ -41,8 +41,13 @@ final class RESTRetrieve extends RESTCmd {
       if(raw) sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
       conn.initResponse();
 
-      context.options.set(MainOptions.SERIALIZER, sopts);
-      run(query(raw ? _DB_RETRIEVE : _DB_OPEN), conn.response.getOutputStream());
+      if(raw && conn.rawBinaries()) {
+        // binary resource: write file to response
+        conn.binary(context.data().meta.binary(conn.dbpath()));
+      } else {
+        context.options.set(MainOptions.SERIALIZER, sopts);
+        run(query(raw ? _DB_RETRIEVE : _DB_OPEN), conn.output());
+      }
 
     } else {
       // list database resources
@@ -52,7 +57,7 @@ final class RESTRetrieve extends RESTCmd {
       list(table, elem, RESTText.Q_RESOURCE, 0);
 
       conn.initResponse();
-      try(Serializer ser = Serializer.get(conn.response.getOutputStream(), sopts)) {
+      try(Serializer ser = Serializer.get(conn.output(), sopts)) {
         ser.serialize(elem);
       }
     }
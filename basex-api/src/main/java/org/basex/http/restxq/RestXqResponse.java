@@ -10,6 +10,7 @@ import javax.servlet.*;
 
 import org.basex.http.*;
 import org.basex.http.web.*;
+import org.basex.io.*;
 import org.basex.io.out.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
@@ -117,9 +118,19 @@ public final class RestXqResponse extends WebResponse {
 
       // serialize result
       if(item != null && body) {
-        out = id != null ? new ArrayOutput() : conn.response.getOutputStream();
-        try(Serializer ser = Serializer.get(out, so)) {
-          for(; item != null; item = qc.next(iter)) ser.serialize(item);
+        // single binary file: write it to the response
+        final IOFile file = id == null && status == null && item instanceof B64Lazy &&
+            conn.rawBinaries() ? ((B64Lazy) item).file() : null;
+        final Item next = file != null ? qc.next(iter) : null;
+        if(file != null && next == null) {
+          conn.binary(file);
+        } else {
+          out = id != null ? new ArrayOutput() : conn.output();
+          try(Serializer ser = Serializer.get(out, so)) {
+            ser.serialize(item);
+            if(next != null) ser.serialize(next);
+            for(Item it; (it = qc.next(iter)) != null;) ser.serialize(it);
+          }
         }
       }
 
@@ -139,7 +150,7 @@ public final class RestXqResponse extends WebResponse {
     if(out instanceof ArrayOutput) {
       final ArrayOutput ao = (ArrayOutput) out;
       final int size = (int) ao.size();
-      if(size > 0) conn.response.getOutputStream().write(ao.buffer(), 0, size);
+      if(size > 0) conn.output().write(ao.buffer(), 0, size);
     }
 
     return status != null || forward != null ? Response.CUSTOM :
@@ -94,6 +94,26 @@ public abstract class HTTPTest extends SandboxTest {
     return request(query, GET);
   }
 
+  /**
+   * Executes the specified GET request with a range header and returns the result.
+   * @param query request
+   * @param range byte range
+   * @return string result, or {@code null} for a failure
+   * @throws IOException I/O exception
+   */
+  protected static String get(final String query, final String range) throws IOException {
+    final IOUrl url = new IOUrl(rootUrl + query);
+    final HttpURLConnection conn = (HttpURLConnection) url.connection();
+    try {
+      conn.setRequestProperty(HttpText.RANGE, range);
+      return read(conn.getInputStream());
+    } catch(final IOException ex) {
+      throw error(conn, ex);
+    } finally {
+      conn.disconnect();
+    }
+  }
+
   /**
    * Executes the specified DELETE request.
    * @param query request
@@ -3,8 +3,11 @@ package org.basex.http.rest;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.net.*;
+import java.util.zip.*;
 
 import org.basex.core.*;
+import org.basex.http.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.util.http.*;
@@ -32,6 +35,38 @@ public final class RESTGetTest extends RESTTest {
     delete(NAME);
   }
 
+  /**
+   * Byte ranges of binary resources.
+   * @throws Exception exception
+   */
+  @Test public void range() throws Exception {
+    put(NAME, new ArrayInput("<a/>"));
+    put(NAME + "/raw", new ArrayInput("0123456789"), MediaType.APPLICATION_OCTET_STREAM);
+    assertEquals("234", get(NAME + "/raw", "bytes=2-4"));
+    assertEquals("789", get(NAME + "/raw", "bytes=7-"));
+    assertEquals("89", get(NAME + "/raw", "bytes=-2"));
+    // invalid and multiple ranges are ignored
+    assertEquals("0123456789", get(NAME + "/raw", "bytes=5-3"));
+    assertEquals("0123456789", get(NAME + "/raw", "bytes=0-1,3-4"));
+    try {
+      get(NAME + "/raw", "bytes=10-");
+      fail("Error expected.");
+    } catch(final IOException ex) {
+      // expected
+    }
+
+    // status codes and headers
+    final String raw = NAME + "/raw";
+    assertEquals("234", range(raw, "bytes=2-4", 206, "bytes 2-4/10"));
+    assertEquals("9", range(raw, "bytes=9-20", 206, "bytes 9-9/10"));
+    assertEquals("0123456789", range(raw, "bytes=-20", 206, "bytes 0-9/10"));
+    assertEquals("0123456789", range(raw, "bytes=5-3", 200, null));
+    assertEquals("0123456789", range(raw, "bytes=0-1,3-4", 200, null));
+    assertEquals("0123456789", range(raw, "items=0-1", 200, null));
+    assertEquals("", range(raw, "bytes=10-", 416, "bytes */10"));
+    delete(NAME);
+  }
+
   /**
    * GET Test.
    * @throws Exception exception
@@ -151,4 +186,109 @@ public final class RESTGetTest extends RESTTest {
     } catch(final IOException ignored) {
     }
   }
+
+  /**
+   * Compressed responses.
+   * @throws IOException I/O exception
+   */
+  @Test public void compression() throws IOException {
+    final StaticOptions sopts = HTTPContext.get().context().soptions;
+    sopts.set(StaticOptions.COMPRESSION, 6);
+    try {
+      final String query = "?query=string-join((1+to+1000)!'abc')";
+      final String result = get(query);
+      assertEquals(result, get(query, "gzip", HttpText.GZIP));
+      assertEquals(result, get(query, "deflate", HttpText.DEFLATE));
+      assertEquals(result, get(query, "gzip;q=0, deflate", HttpText.DEFLATE));
+      assertEquals(result, get(query, "identity", null));
+      // no compression of empty bodies
+      assertEquals("", get("?query=()", "gzip", null));
+
+      // compressed output is discarded if an error is raised during serialization
+      final String error = "?query=(1+to+1000)!(if(.=1000)+then+error()+else+.)";
+      final HttpURLConnection conn = (HttpURLConnection) new IOUrl(REST_ROOT + error).connection();
+      try {
+        conn.setRequestProperty(HttpText.ACCEPT_ENCODING, "gzip");
+        assertEquals(400, conn.getResponseCode());
+        assertNull(conn.getContentEncoding());
+        assertContains(read(conn.getErrorStream()), "[FOER0000]");
+      } finally {
+        conn.disconnect();
+      }
+    } finally {
+      sopts.set(StaticOptions.COMPRESSION, 0);
+    }
+    assertEquals("1", get("?query=1", "gzip", null));
+  }
+
+  /**
+   * Chunked responses.
+   * @throws IOException I/O exception
+   */
+  @Test public void chunked() throws IOException {
+    final String query = "?query=string-join((1+to+1000)!'abc')";
+    final StaticOptions sopts = HTTPContext.get().context().soptions;
+    sopts.set(StaticOptions.CHUNKSIZE, 1024);
+    try {
+      final HttpURLConnection conn = (HttpURLConnection) new IOUrl(REST_ROOT + query).connection();
+      try {
+        assertEquals(3000, read(conn.getInputStream()).length());
+        assertEquals("chunked", conn.getHeaderField("Transfer-Encoding"));
+        assertEquals(-1, conn.getContentLengthLong());
+      } finally {
+        conn.disconnect();
+      }
+    } finally {
+      sopts.set(StaticOptions.CHUNKSIZE, 0);
+    }
+  }
+
+  /**
+   * Executes the specified GET request with a range header and checks the status code and
+   * the returned content range.
+   * @param query request
+   * @param range byte range
+   * @param status expected status code
+   * @param contentRange expected content range ({@code null} if no range is expected)
+   * @return string result
+   * @throws IOException I/O exception
+   */
+  private static String range(final String query, final String range, final int status,
+      final String contentRange) throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) new IOUrl(REST_ROOT + query).connection();
+    try {
+      conn.setRequestProperty(HttpText.RANGE, range);
+      assertEquals(status, conn.getResponseCode());
+      assertEquals(contentRange, conn.getHeaderField(HttpText.CONTENT_RANGE));
+      assertEquals(HttpText.BYTES, conn.getHeaderField(HttpText.ACCEPT_RANGES));
+      return read(status < 400 ? conn.getInputStream() : conn.getErrorStream());
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  /**
+   * Executes the specified GET request with an Accept-Encoding header and returns the
+   * decompressed result.
+   * @param query request
+   * @param accept accepted encodings
+   * @param encoding expected content encoding ({@code null} if no compression is expected)
+   * @return string result
+   * @throws IOException I/O exception
+   */
+  private static String get(final String query, final String accept, final String encoding)
+      throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) new IOUrl(REST_ROOT + query).connection();
+    try {
+      conn.setRequestProperty(HttpText.ACCEPT_ENCODING, accept);
+      final InputStream is = conn.getInputStream();
+      assertEquals(encoding, conn.getContentEncoding());
+      return read(encoding == null ? is : encoding.equals(HttpText.GZIP) ?
+        new GZIPInputStream(is) : new InflaterInputStream(is));
+    } catch(final IOException ex) {
+      throw error(conn, ex);
+    } finally {
+      conn.disconnect();
+    }
+  }
 }
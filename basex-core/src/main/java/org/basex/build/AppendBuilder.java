@@ -0,0 +1,89 @@
+package org.basex.build;
+
+import java.io.*;
+
+import org.basex.data.*;
+
+/**
+ * This class appends documents to an existing database instance.
+ * In contrast to the other builders, the nodes are directly written to the end of the table of
+ * the target database: no intermediate instance is created, and ids, names, namespaces and
+ * text references are assigned in a single pass. If the parser fails, all nodes that have
+ * been appended so far will be removed again.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public final class AppendBuilder extends Builder {
+  /** Target database. */
+  private final Data data;
+
+  /**
+   * Constructor.
+   * @param data target database
+   * @param parser parser
+   */
+  public AppendBuilder(final Data data, final Parser parser) {
+    super(data.meta.name, parser, data.nspaces);
+    this.data = data;
+    meta = data.meta;
+    elemNames = data.elemNames;
+    attrNames = data.attrNames;
+    binaryDir(data.meta.dir);
+  }
+
+  @Override
+  public Data build() throws IOException {
+    final int pre = data.startAppend(), ndocs = meta.ndocs, lastid = meta.lastid;
+    // input information of the target database will be overwritten by the parser
+    final String original = meta.original;
+    final long inputsize = meta.inputsize;
+    boolean ok = false;
+    try {
+      parser.parse(this);
+      ok = true;
+    } finally {
+      parser.close();
+      meta.original = original;
+      meta.inputsize = inputsize;
+      if(ok) {
+        data.finishAppend(pre);
+      } else {
+        data.cancelAppend(pre);
+        meta.ndocs = ndocs;
+        meta.lastid = lastid;
+      }
+    }
+    return data;
+  }
+
+  @Override
+  protected void addDoc(final byte[] value) {
+    data.doc(0, value);
+    data.insert(meta.size);
+  }
+
+  @Override
+  protected void addElem(final int dist, final int nameId, final int asize, final int uriId,
+      final boolean ne) {
+    data.elem(dist, nameId, asize, asize, uriId, ne);
+    data.insert(meta.size);
+  }
+
+  @Override
+  protected void addAttr(final int nameId, final byte[] value, final int dist, final int uriId) {
+    data.attr(dist, nameId, value, uriId);
+    data.insert(meta.size);
+  }
+
+  @Override
+  protected void addText(final byte[] value, final int dist, final byte kind) {
+    data.text(dist, value, kind);
+    data.insert(meta.size);
+  }
+
+  @Override
+  protected void setSize(final int pre, final int size) {
+    data.size(pre, Data.ELEM, size);
+  }
+}
@@ -29,7 +29,7 @@ public abstract class Builder extends Job {
   /** Tree structure. */
   final PathIndex path = new PathIndex();
   /** Namespace index. */
-  final Namespaces nspaces = new Namespaces();
+  final Namespaces nspaces;
   /** Parser instance. */
   final Parser parser;
   /** Database name. */
@@ -63,8 +63,19 @@ public abstract class Builder extends Job {
    * @param parser parser
    */
   Builder(final String dbName, final Parser parser) {
+    this(dbName, parser, new Namespaces());
+  }
+
+  /**
+   * Constructor.
+   * @param dbName name of database
+   * @param parser parser
+   * @param nspaces namespace index
+   */
+  Builder(final String dbName, final Parser parser, final Namespaces nspaces) {
     this.dbName = dbName;
     this.parser = parser;
+    this.nspaces = nspaces;
   }
 
   // PUBLIC METHODS ===============================================================================
@@ -2,6 +2,7 @@ package org.basex.build;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.util.*;
@@ -59,6 +60,30 @@ public final class MemBuilder extends Builder {
     return new MemBuilder(name, parser).build();
   }
 
+  /**
+   * Checks if the specified input can be parsed into a main-memory instance.
+   * If {@link MainOptions#MEMLIMIT} is assigned, the input size is compared against the specified
+   * number of megabytes. Otherwise, it is compared against half of the maximum heap size.
+   * Inputs of unknown size (such as input streams) are always accepted.
+   * @param input input
+   * @param options main options
+   * @return result of check
+   */
+  public static boolean fits(final IO input, final MainOptions options) {
+    long size = input.length();
+    if(input instanceof IOFile) {
+      final IOFile file = (IOFile) input;
+      if(file.isDir()) {
+        for(final String path : file.descendants()) size += new IOFile(file, path).length();
+      }
+    }
+    if(size <= 0) return true;
+
+    // check memory budget (the result must not depend on the current memory consumption)
+    final long limit = options.get(MainOptions.MEMLIMIT);
+    return size <= (limit > 0 ? limit << 20 : Runtime.getRuntime().maxMemory() / 2);
+  }
+
   @Override
   public MemData build() throws IOException {
     init();
@@ -11,6 +11,8 @@ import org.basex.util.options.*;
 public final class CsvParserOptions extends CsvOptions {
   /** Option: encoding. */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: parse local files in parallel. */
+  public static final BooleanOption PARALLEL = new BooleanOption("parallel", false);
 
   /**
    * Default constructor.
@@ -13,4 +13,6 @@ public final class JsonSerialOptions extends JsonOptions {
   public static final BooleanOption INDENT = new BooleanOption("indent");
   /** Option: escape special characters (custom). */
   public static final BooleanOption ESCAPE = new BooleanOption("escape", true);
+  /** Option: output each item of a sequence as a separate line (custom). */
+  public static final BooleanOption LINES = new BooleanOption("lines", false);
 }
@@ -33,6 +33,10 @@ final class XMLScanner extends Job {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** Plain ASCII characters in text, which can be copied in bulk. */
+  private static final boolean[] TEXT = plain("<&]%\r");
+  /** Plain ASCII characters in attribute values, which can be copied in bulk. */
+  private static final boolean[] ATTVALUE = plain("<&'\"%\r\n");
 
   /** Scanning states. */
   private enum Scan {
@@ -152,6 +156,19 @@ final class XMLScanner extends Job {
     if(!fragment && prolog) throw error(DOCEMPTY);
   }
 
+  /**
+   * Returns flags for all ASCII characters that are no delimiters and valid XML characters.
+   * @param delimiters delimiters
+   * @return flags
+   */
+  private static boolean[] plain(final String delimiters) {
+    final boolean[] plain = new boolean[0x80];
+    for(int c = 0; c < 0x80; c++) {
+      plain[c] = (c >= ' ' || c == '\t' || c == '\n') && delimiters.indexOf(c) == -1;
+    }
+    return plain;
+  }
+
   /**
    * Scans XML content.
    * @param ch current character
@@ -281,6 +298,7 @@ final class XMLScanner extends Job {
       } else {
         token.add(c);
       }
+      input.ascii(token, ATTVALUE);
     } while((c = consume()) != quote);
   }
 
@@ -320,6 +338,7 @@ final class XMLScanner extends Job {
           token.add(c);
         }
       }
+      input.ascii(token, TEXT);
       c = consume();
       f = false;
     }
@@ -70,6 +70,8 @@ public final class MainOptions extends Options {
 
   /** Cache new documents before adding them to a database. */
   public static final BooleanOption ADDCACHE = new BooleanOption("ADDCACHE", false);
+  /** Maximum size of inputs (in megabytes) that will be parsed in main memory (0: half of heap). */
+  public static final NumberOption MEMLIMIT = new NumberOption("MEMLIMIT", 0);
 
   // Indexing
 
@@ -81,6 +83,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption TOKENINDEX = new BooleanOption("TOKENINDEX", false);
   /** Flag for creating a full-text index. */
   public static final BooleanOption FTINDEX = new BooleanOption("FTINDEX", false);
+  /** Flag for looking up elements via an in-memory name index. */
+  public static final BooleanOption NAMEINDEX = new BooleanOption("NAMEINDEX", false);
 
   /** Text index: names to include. */
   public static final StringOption TEXTINCLUDE = new StringOption("TEXTINCLUDE", "");
@@ -99,6 +103,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption UPDINDEX = new BooleanOption("UPDINDEX", false);
   /** Flag for automatic index updates. */
   public static final BooleanOption AUTOOPTIMIZE = new BooleanOption("AUTOOPTIMIZE", false);
+  /** Flag for caching the serialized representation of documents. */
+  public static final BooleanOption SERIALCACHE = new BooleanOption("SERIALCACHE", false);
   /** Index split size. */
   public static final NumberOption SPLITSIZE = new NumberOption("SPLITSIZE", 0);
 
@@ -127,6 +133,8 @@ public final class MainOptions extends Options {
   public static final NumberOption INLINELIMIT = new NumberOption("INLINELIMIT", 100);
   /** Flag for tail-call optimization. */
   public static final NumberOption TAILCALLS = new NumberOption("TAILCALLS", 256);
+  /** Parallel evaluation of for clauses. */
+  public static final BooleanOption PARALLELFOR = new BooleanOption("PARALLELFOR", false);
   /** Look up documents in databases. */
   public static final BooleanOption WITHDB = new BooleanOption("WITHDB", true);
   /** Favor global database when opening resources. */
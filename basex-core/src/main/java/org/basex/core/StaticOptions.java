@@ -33,6 +33,10 @@ public final class StaticOptions extends Options {
   public static final BooleanOption FAIRLOCK = new BooleanOption("FAIRLOCK", false);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption CACHETIMEOUT = new NumberOption("CACHETIMEOUT", 3600);
+  /** Keep database snapshots for incremental backups. */
+  public static final BooleanOption BACKUPSNAPSHOTS = new BooleanOption("BACKUPSNAPSHOTS", false);
+  /** Compression level of backups (0: no compression, 1: fastest, 9: best compression). */
+  public static final NumberOption BACKUPLEVEL = new NumberOption("BACKUPLEVEL", 6);
 
   /** Comment: written to options file. */
   public static final Comment C_CLIENT = new Comment("Client/Server Architecture");
@@ -66,6 +70,8 @@ public final class StaticOptions extends Options {
   public static final NumberOption KEEPALIVE = new NumberOption("KEEPALIVE", 600);
   /** Defines the number of parallel readers. */
   public static final NumberOption PARALLEL = new NumberOption("PARALLEL", 8);
+  /** Maximum number of threads for parallel query evaluation (0: number of processors). */
+  public static final NumberOption FORKTHREADS = new NumberOption("FORKTHREADS", 0);
   /** Logging flag. */
   public static final BooleanOption LOG = new BooleanOption("LOG", true);
   /** Log message cut-off. */
@@ -78,6 +84,10 @@ public final class StaticOptions extends Options {
   public static final StringOption WEBPATH = new StringOption("WEBPATH", Prop.HOMEDIR + "webapp");
   /** Enable GZIP support (cannot be specified in web.xml). */
   public static final BooleanOption GZIP = new BooleanOption("GZIP", false);
+  /** Compression level of serialized HTTP responses (0: no compression, 1-9). */
+  public static final NumberOption COMPRESSION = new NumberOption("COMPRESSION", 0);
+  /** Size of HTTP response chunks (0: default of the servlet container). */
+  public static final NumberOption CHUNKSIZE = new NumberOption("CHUNKSIZE", 0);
 
   /** REST path (relative to web path). */
   public static final StringOption RESTPATH = new StringOption("RESTPATH", "");
@@ -157,7 +167,7 @@ public final class StaticOptions extends Options {
    * @param name name of the original database
    * @return name of random database
    */
-  public String createRandomDb(final String name) {
+  public synchronized String createRandomDb(final String name) {
     String db;
     int c = 0;
     do {
@@ -25,6 +25,8 @@ import org.basex.util.*;
 public final class Add extends ACreate {
   /** Builder. */
   private Builder builder;
+  /** Parser. */
+  private Parser parser;
 
   /** Data to insert. */
   Data tmpData;
@@ -50,25 +52,40 @@ public final class Add extends ACreate {
 
   @Override
   protected boolean run() {
-    if(!build()) return false;
-    try {
-      final Data data = context.data();
-      return update(data, new Code() {
-        @Override
-        boolean run() {
-          // skip update if fragment is empty
-          if(tmpData.meta.size > 1) {
-            context.invalidate();
-            final AtomicUpdateCache auc = new AtomicUpdateCache(data);
-            auc.addInsert(data.meta.size, -1, new DataClip(tmpData));
-            auc.execute(false);
+    final Data data = context.data();
+    // cached insertion: parse input into an intermediate instance
+    if(options.get(MainOptions.ADDCACHE) && !options.get(MainOptions.MAINMEM)) {
+      if(!build()) return false;
+      try {
+        return update(data, new Code() {
+          @Override
+          boolean run() {
+            // skip update if fragment is empty
+            if(tmpData.meta.size > 1) {
+              context.invalidate();
+              final AtomicUpdateCache auc = new AtomicUpdateCache(data);
+              auc.addInsert(data.meta.size, -1, new DataClip(tmpData));
+              auc.execute(false);
+            }
+            return info(RES_ADDED_X, jc().performance);
           }
-          return info(RES_ADDED_X, jc().performance);
-        }
-      });
-    } finally {
-      finish();
+        });
+      } finally {
+        finish();
+      }
     }
+
+    // direct insertion: append parsed nodes to the end of the database
+    if(!parser()) return false;
+    return update(data, new Code() {
+      @Override
+      boolean run() throws IOException {
+        context.invalidate();
+        builder = new AppendBuilder(data, parser);
+        builder.build();
+        return info(RES_ADDED_X, jc().performance);
+      }
+    });
   }
 
   /**
@@ -76,6 +93,28 @@ public final class Add extends ACreate {
    * @return success flag
    */
   boolean build() {
+    if(!parser()) return false;
+    try {
+      final Data data = context.data();
+      // create random database name for disk-based creation
+      if(cache(parser)) {
+        final String tmpName = soptions.createRandomDb(data.meta.name);
+        builder = new DiskBuilder(tmpName, parser, soptions, options);
+      } else {
+        builder = new MemBuilder(parser.source.name(), parser);
+      }
+      tmpData = builder.binaryDir(data.meta.dir).build();
+      return true;
+    } catch(final IOException ex) {
+      return error(Util.message(ex));
+    }
+  }
+
+  /**
+   * Creates the parser for the document(s) to be added.
+   * @return success flag
+   */
+  private boolean parser() {
     String name = MetaData.normPath(args[0]);
     if(name == null) return error(PATH_INVALID_X, args[0]);
 
@@ -108,22 +147,8 @@ public final class Add extends ACreate {
     // ensure that the final name is not empty
     if(name.isEmpty()) return error(NAME_INVALID_X, name);
 
-    try {
-      final Data data = context.data();
-      final Parser parser = new DirParser(source, options).target(target);
-
-      // create random database name for disk-based creation
-      if(cache(parser)) {
-        final String tmpName = soptions.createRandomDb(data.meta.name);
-        builder = new DiskBuilder(tmpName, parser, soptions, options);
-      } else {
-        builder = new MemBuilder(name, parser);
-      }
-      tmpData = builder.binaryDir(data.meta.dir).build();
-      return true;
-    } catch(final IOException ex) {
-      return error(Util.message(ex));
-    }
+    parser = new DirParser(source, options).target(target);
+    return true;
   }
 
   /**
@@ -148,22 +173,7 @@ public final class Add extends ACreate {
     if(options.get(MainOptions.ADDCACHE)) return true;
 
     // create disk instances for large documents
-    // (does not work for input streams and directories)
-    long fl = parser.source.length();
-    if(parser.source instanceof IOFile) {
-      final IOFile f = (IOFile) parser.source;
-      if(f.isDir()) {
-        for(final String d : f.descendants()) fl += new IOFile(f, d).length();
-      }
-    }
-
-    // check free memory
-    final Runtime rt = Runtime.getRuntime();
-    final long max = rt.maxMemory();
-    if(fl < (max - rt.freeMemory()) / 2) return false;
-    // if caching may be necessary, run garbage collection and try again
-    Performance.gc(2);
-    return fl > (max - rt.freeMemory()) / 2;
+    return !MemBuilder.fits(parser.source, options);
   }
 
   @Override
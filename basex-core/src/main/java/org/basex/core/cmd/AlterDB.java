@@ -6,6 +6,8 @@ import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdAlter;
+import org.basex.data.*;
+import org.basex.io.*;
 
 /**
  * Evaluates the 'alter database' command and renames a database.
@@ -64,8 +66,10 @@ public final class AlterDB extends ACreate {
   public static synchronized boolean alter(final String source, final String target,
       final StaticOptions sopts) {
 
-    // drop target database
+    // drop target database and serialized documents of source database
     DropDB.drop(target, sopts);
+    final IOFile ser = MetaData.serialDir(source, sopts);
+    if(ser.exists()) ser.delete();
     return sopts.dbPath(source).rename(sopts.dbPath(target));
   }
 
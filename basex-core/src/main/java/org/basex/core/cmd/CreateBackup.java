@@ -22,6 +22,9 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class CreateBackup extends ABackup {
+  /** Maximum granularity of file timestamps (ms). */
+  private static final long TIMESTAMP = 2000;
+
   /**
    * Default constructor.
    * @param arg optional argument
@@ -39,8 +42,9 @@ public final class CreateBackup extends ABackup {
     final StringList dbs = context.listDBs(pattern);
     if(dbs.isEmpty()) return error(DB_NOT_FOUND_X, pattern);
 
-    // loop through all databases
+    // create snapshots of all databases
     boolean ok = true;
+    final StringList snapshots = new StringList(dbs.size());
     for(final String db : dbs) {
       // don't open databases marked as updating
       if(MetaData.file(soptions.dbPath(db), DATAUPD).exists()) {
@@ -49,9 +53,8 @@ public final class CreateBackup extends ABackup {
         ok = false;
       } else {
         try {
-          backup(db, soptions, this);
-          // backup was successful
-          info(DB_BACKUP_X, db, jc().performance);
+          snapshot(db, soptions);
+          snapshots.add(db);
         } catch(final IOException ex) {
           Util.debug(ex);
           info(DB_NOT_BACKUP_X, db);
@@ -59,6 +62,27 @@ public final class CreateBackup extends ABackup {
         }
       }
     }
+
+    // snapshots are consistent: release database locks, allowing writers to proceed
+    for(final String db : snapshots) context.locking.release(db);
+
+    // compress snapshots
+    final boolean keep = soptions.get(StaticOptions.BACKUPSNAPSHOTS);
+    for(final String db : snapshots) {
+      final IOFile snapshot = snapshotPath(db, soptions);
+      try {
+        zip(db, snapshot, soptions, this);
+        // backup was successful
+        info(DB_BACKUP_X, db, jc().performance);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+        info(DB_NOT_BACKUP_X, db);
+        ok = false;
+      } finally {
+        if(!keep) snapshot.delete();
+      }
+    }
+    cleanSnapshots(keep);
     return ok;
   }
 
@@ -71,23 +95,111 @@ public final class CreateBackup extends ABackup {
    */
   public static void backup(final String db, final StaticOptions sopts, final CreateBackup cmd)
       throws IOException {
+    zip(db, sopts.dbPath(db), sopts, cmd);
+  }
 
-    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
-    final IOFile zf = sopts.dbPath(backup);
-    final Zip zip = new Zip(zf);
+  /**
+   * Creates or updates the snapshot of a database. Files that do not exist anymore will be
+   * deleted. Files will be copied if their length or modification time differs, or if they
+   * may have been modified after they were copied to the previous snapshot (database files are
+   * updated in place, and the granularity of file timestamps is coarse on some file systems).
+   * If the snapshot cannot be created, it will be deleted.
+   * @param db name of the database
+   * @param sopts static options
+   * @throws IOException I/O Exception
+   */
+  static void snapshot(final String db, final StaticOptions sopts) throws IOException {
+    final IOFile dbpath = sopts.dbPath(db), snapshot = snapshotPath(db, sopts);
+    final StringList files = files(dbpath);
+    // creation time of the previous snapshot, minus the maximum timestamp granularity
+    final long start = System.currentTimeMillis();
+    final long modified = snapshot.exists() ? snapshot.timeStamp() - TIMESTAMP : Long.MIN_VALUE;
+    boolean ok = false;
+    try {
+      // delete obsolete files
+      for(final String file : files(snapshot)) {
+        if(!files.contains(file)) new IOFile(snapshot, file).delete();
+      }
+      // copy new and changed files
+      for(final String file : files) {
+        final IOFile source = new IOFile(dbpath, file), target = new IOFile(snapshot, file);
+        final long time = source.timeStamp();
+        if(time >= modified || source.length() != target.length() ||
+            time != target.timeStamp()) {
+          source.copyTo(target);
+          target.file().setLastModified(time);
+        }
+      }
+      // remember creation time of the snapshot
+      snapshot.md();
+      snapshot.file().setLastModified(start);
+      ok = true;
+    } finally {
+      // do not leave incomplete snapshots behind
+      if(!ok) snapshot.delete();
+    }
+  }
 
+  /**
+   * Returns the snapshot directory of a database.
+   * @param db name of the database
+   * @param sopts static options
+   * @return snapshot directory
+   */
+  static IOFile snapshotPath(final String db, final StaticOptions sopts) {
+    return new IOFile(sopts.dbPath(SNAPSHOTS), db);
+  }
+
+  /**
+   * Deletes the snapshots of databases that do not exist anymore, or the snapshot directory
+   * if no snapshots are to be kept.
+   * @param keep keep snapshots
+   */
+  private void cleanSnapshots(final boolean keep) {
+    final IOFile root = soptions.dbPath(SNAPSHOTS);
+    if(keep) {
+      for(final IOFile snapshot : root.children()) {
+        if(!soptions.dbExists(snapshot.name())) snapshot.delete();
+      }
+    } else if(root.children().length == 0) {
+      root.delete();
+    }
+  }
+
+  /**
+   * Zips the files of a database directory.
+   * @param db name of the database
+   * @param dir directory with database files
+   * @param sopts static options
+   * @param cmd calling command instance (can be {@code null})
+   * @throws IOException I/O Exception
+   */
+  private static void zip(final String db, final IOFile dir, final StaticOptions sopts,
+      final CreateBackup cmd) throws IOException {
+
+    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
+    final Zip zip = new Zip(sopts.dbPath(backup));
     try {
       if(cmd != null) cmd.pushJob(zip);
-      final IOFile dbpath = sopts.dbPath(db);
-      final StringList files = dbpath.descendants();
-      // ignore file indicating an update (this file is generated when using XQuery)
-      files.removeAll(DATAUPD + IO.BASEXSUFFIX);
-      zip.zip(dbpath, files);
+      final int level = Math.max(0, Math.min(9, sopts.get(StaticOptions.BACKUPLEVEL)));
+      zip.zip(dir, files(dir), level);
     } finally {
       if(cmd != null) cmd.popJob();
     }
   }
 
+  /**
+   * Returns the relative paths of all files to be backed up.
+   * @param dir database directory
+   * @return relative paths
+   */
+  private static StringList files(final IOFile dir) {
+    final StringList files = dir.descendants();
+    // ignore file indicating an update (this file is generated when using XQuery)
+    files.removeAll(DATAUPD + IO.BASEXSUFFIX);
+    return files;
+  }
+
   @Override
   public void addLocks() {
     super.addLocks();
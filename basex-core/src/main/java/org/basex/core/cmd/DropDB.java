@@ -73,6 +73,10 @@ public final class DropDB extends ACreate {
    * @return success flag
    */
   public static synchronized boolean drop(final String db, final StaticOptions sopts) {
+    // discard serialized documents
+    final IOFile ser = MetaData.serialDir(db, sopts);
+    if(ser.exists()) ser.delete();
+
     final IOFile dbpath = sopts.dbPath(db);
     return dbpath.exists() && dbpath.delete();
   }
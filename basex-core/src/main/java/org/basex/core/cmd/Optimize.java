@@ -41,12 +41,17 @@ public final class Optimize extends ACreate {
     return update(data, new Code() {
       @Override
       boolean run() throws IOException {
-        // reassign autooptimize flag
+        // reassign autooptimize and serialcache flags
         final boolean autooptimize = options.get(MainOptions.AUTOOPTIMIZE);
         if(autooptimize != data.meta.autooptimize) {
           data.meta.autooptimize = autooptimize;
           data.meta.dirty = true;
         }
+        final boolean serialcache = options.get(MainOptions.SERIALCACHE);
+        if(serialcache != data.meta.serialcache) {
+          data.meta.serialcache = serialcache;
+          data.meta.dirty = true;
+        }
         optimize(data, Optimize.this);
         return info(DB_OPTIMIZED_X, meta.name, jc().performance);
       }
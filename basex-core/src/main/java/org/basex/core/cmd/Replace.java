@@ -73,17 +73,18 @@ public final class Replace extends ACreate {
 
     final IntList docs = data.resources.docs(path);
     int d = 0, bs = 0;
-    if(bin != null && bin.exists()) {
-      // replace binary file if it already exists
-      final Store store = new Store(path);
-      store.setInput(in);
-      store.lock = false;
-      if(!store.run(context)) return error(store.info());
-      bs = 1;
-    } else {
-      // otherwise, add new document as xml
-      final Add add = new Add(path);
-      try {
+    Add add = null;
+    try {
+      if(bin != null && bin.exists()) {
+        // replace binary file if it already exists
+        final Store store = new Store(path);
+        store.setInput(in);
+        store.lock = false;
+        if(!store.run(context)) return error(store.info());
+        bs = 1;
+      } else {
+        // otherwise, add new document as xml
+        add = new Add(path);
         add.setInput(in);
         add.init(context, out);
         if(!add.build()) return error(add.info());
@@ -95,17 +96,17 @@ public final class Replace extends ACreate {
           auc.addReplace(docs.get(d++), clip);
         }
         context.invalidate();
-      } finally {
-        add.finish();
       }
-    }
 
-    // delete old documents
-    final int ds = docs.size();
-    for(; d < ds; d++) auc.addDelete(docs.get(d));
-    auc.execute(false);
+      // delete old documents
+      for(final int ds = docs.size(); d < ds; d++) auc.addDelete(docs.get(d));
+      // temporary instance must still be accessible when updates are applied
+      auc.execute(false);
+    } finally {
+      if(add != null) add.finish();
+    }
 
-    return info(RES_REPLACED_X_X, ds + bs, jc().performance);
+    return info(RES_REPLACED_X_X, docs.size() + bs, jc().performance);
   }
 
   @Override
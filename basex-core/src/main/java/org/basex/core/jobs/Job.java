@@ -1,6 +1,7 @@
 package org.basex.core.jobs;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.basex.core.*;
 import org.basex.core.users.*;
@@ -123,6 +124,16 @@ public abstract class Job {
     return stopped;
   }
 
+  /**
+   * Returns the thread pool for parallel processing. If the job is run by a database context,
+   * the shared pool of the context is returned. Otherwise, the common pool is returned.
+   * @return thread pool
+   */
+  public final ForkJoinPool forkPool() {
+    final Context ctx = jc.context;
+    return ctx != null ? ctx.jobs.forkPool() : ForkJoinPool.commonPool();
+  }
+
   /**
    * Sends a new job state.
    * @param js new state
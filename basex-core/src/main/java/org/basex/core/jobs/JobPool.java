@@ -26,6 +26,12 @@ public final class JobPool {
   final Timer timer = new Timer(true);
   /** Timeout (ms). */
   private final long timeout;
+  /** Maximum number of threads for parallel query evaluation. */
+  private final int threads;
+  /** Thread pool for parallel query evaluation (lazy instantiation). */
+  private volatile ForkJoinPool forkPool;
+  /** Lock for creating and shutting down the thread pool. */
+  private final Object forkLock = new Object();
 
   /**
    * Constructor.
@@ -33,6 +39,24 @@ public final class JobPool {
    */
   public JobPool(final StaticOptions sopts) {
     timeout = sopts.get(StaticOptions.CACHETIMEOUT) * 1000L;
+    final int ft = sopts.get(StaticOptions.FORKTHREADS);
+    threads = ft > 0 ? ft : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Returns the thread pool for parallel query evaluation, which is shared by all queries.
+   * @return thread pool
+   */
+  public ForkJoinPool forkPool() {
+    // the lock is only acquired if the pool has not been created yet
+    ForkJoinPool pool = forkPool;
+    if(pool == null) {
+      synchronized(forkLock) {
+        pool = forkPool;
+        if(pool == null) forkPool = pool = new ForkJoinPool(threads);
+      }
+    }
+    return pool;
   }
 
   /**
@@ -60,6 +84,12 @@ public final class JobPool {
     timer.cancel();
     for(final Job job : active.values()) job.stop();
     while(!active.isEmpty()) Performance.sleep(1);
+    synchronized(forkLock) {
+      if(forkPool != null) {
+        forkPool.shutdown();
+        forkPool = null;
+      }
+    }
   }
 
   /**
@@ -89,6 +89,15 @@ public final class LockList implements Iterable<String> {
     list.removeAll(locks.list);
   }
 
+  /**
+   * Removes a single local lock.
+   * @param lock lock to be removed
+   * @return {@code true} if the lock was found
+   */
+  public boolean remove(final String lock) {
+    return list.removeAll(lock);
+  }
+
   /**
    * Returns the element at the specified position.
    * @param index element index
@@ -180,6 +180,23 @@ public final class Locking {
     queue.release();
   }
 
+  /**
+   * Releases a local read lock of the current job before the job is finished.
+   * The lock will only be released if the job holds further locks.
+   * @param string lock string
+   * @return {@code true} if the lock was released
+   */
+  public boolean release(final String string) {
+    final Locks locks = locked.get(Thread.currentThread().getId());
+    if(locks == null) return false;
+    final LockList reads = locks.reads;
+    if(reads.global() || !locks.writes.locking() && reads.size() < 2 ||
+      !reads.remove(string)) return false;
+
+    unpin(string).readLock().unlock();
+    return true;
+  }
+
   /**
    * Pins a lock string. Creates a new lock if necessary.
    * @param string lock string
@@ -831,6 +831,41 @@ public abstract class Data {
     updateDist(pre + sCount, sCount);
   }
 
+  /**
+   * Prepares the appending of new documents to the end of the table. The nodes of the documents
+   * must be added via the update buffer methods (see {@link #doc} and {@link #insert(int)}).
+   * @return pre value of the first node to be appended
+   */
+  public final int startAppend() {
+    meta.update();
+    resources.docs();
+    // documents: use -1 as namespace root
+    nspaces.root(-1, this);
+    return meta.size;
+  }
+
+  /**
+   * Finalizes the appending of documents and updates the index structures.
+   * @param pre pre value of the first appended node
+   */
+  public final void finishAppend(final int pre) {
+    final int size = meta.size - pre;
+    if(size > 0) indexAdd(pre, id(pre), size, new DataClip(this, pre, meta.size));
+  }
+
+  /**
+   * Cancels the appending of documents and removes all nodes that have been appended so far.
+   * @param pre pre value of the first appended node
+   */
+  public final void cancelAppend(final int pre) {
+    final int size = meta.size - pre;
+    nspaces.reset();
+    if(size > 0) {
+      nspaces.delete(pre, size, this);
+      table.delete(pre, size);
+    }
+  }
+
   /**
    * This method updates the distance values of the specified pre value
    * and the following siblings of all ancestor-or-self nodes.
@@ -34,6 +34,8 @@ public interface DataText {
   String DBUPDIDX = "UPDINDEX";
   /** Automatic optimization. */
   String DBAUTOOPT = "AUTOOPT";
+  /** Cached serialization. */
+  String DBSERCACHE = "SERCACHE";
   /** Text index. */
   String DBTXTIDX = "TXTINDEX";
   /** Attribute index. */
@@ -114,6 +116,10 @@ public interface DataText {
   String DATAPTH = "pth";
   /** Database - ID-PRE mapping. */
   String DATAIDP = "idp";
+  /** Directory with database snapshots (relative to database path). */
+  String SNAPSHOTS = ".snapshots";
+  /** Directory with serialized documents (relative to database path). */
+  String SERIAL = ".serial";
 
   // XML SERIALIZATION ============================================================================
 
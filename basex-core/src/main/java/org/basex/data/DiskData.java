@@ -246,6 +246,11 @@ public final class DiskData extends Data {
       if(!upd.exists()) throw Util.notExpected("%: lock file does not exist.", meta.name);
       if(!upd.delete()) throw Util.notExpected("%: could not delete lock file.", meta.name);
     }
+    // discard serialized documents of the previous database state
+    if(meta.dirty && meta.serialcache) {
+      final IOFile ser = meta.serialDir();
+      if(ser.exists()) ser.delete();
+    }
 
     flush(auto);
     if(!table.lock(false)) throw Util.notExpected("Database '%': could not unlock.", meta.name);
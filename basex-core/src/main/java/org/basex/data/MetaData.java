@@ -52,6 +52,8 @@ public final class MetaData {
   public boolean updindex;
   /** Flag for automatic index updating. */
   public boolean autooptimize;
+  /** Flag for caching serialized documents. */
+  public boolean serialcache;
 
   /** Indicates if the text index is to be recreated. */
   public boolean createtext;
@@ -95,6 +97,8 @@ public final class MetaData {
   public boolean corrupt;
   /** Dirty flag. */
   public boolean dirty;
+  /** Indicates if this is a temporary disk-based instance of a main-memory database. */
+  public boolean temp;
 
   /** Number of nodes. */
   public int size;
@@ -140,6 +144,7 @@ public final class MetaData {
     casesens = options.get(MainOptions.CASESENS);
     updindex = options.get(MainOptions.UPDINDEX);
     autooptimize = options.get(MainOptions.AUTOOPTIMIZE);
+    serialcache = options.get(MainOptions.SERIALCACHE);
     maxlen = options.get(MainOptions.MAXLEN);
     maxcats = options.get(MainOptions.MAXCATS);
     stopwords = options.get(MainOptions.STOPWORDS);
@@ -273,6 +278,26 @@ public final class MetaData {
     return dir == null ? null : new IOFile(dir, IO.RAW);
   }
 
+  /**
+   * Returns the directory with serialized documents.
+   * @return directory, or {@code null} if this is a main-memory database
+   */
+  public IOFile serialDir() {
+    return dir == null ? null : new IOFile(new IOFile(dir.parent(), SERIAL), name);
+  }
+
+  /**
+   * Returns the directory with serialized documents of the specified database.
+   * The directory is located outside the database directory: it can be written while
+   * the database is only locked for reading, and it is not included in backups.
+   * @param db name of the database
+   * @param sopts static options
+   * @return directory
+   */
+  public static IOFile serialDir(final String db, final StaticOptions sopts) {
+    return new IOFile(sopts.dbPath(SERIAL), db);
+  }
+
   /**
    * Returns a file that indicates ongoing updates.
    * @return updating file
@@ -403,6 +428,7 @@ public final class MetaData {
         case DBFTDC:     diacritics = toBoolean(v); break;
         case DBUPDIDX:   updindex = toBoolean(v); break;
         case DBAUTOOPT:  autooptimize = toBoolean(v); break;
+        case DBSERCACHE: serialcache = toBoolean(v); break;
         case DBTXTIDX:   textindex = toBoolean(v); break;
         case DBATVIDX:   attrindex = toBoolean(v); break;
         case DBTOKIDX:   tokenindex = toBoolean(v); break;
@@ -446,6 +472,7 @@ public final class MetaData {
     writeInfo(out, DBSIZE,     size);
     writeInfo(out, DBUPDIDX,   updindex);
     writeInfo(out, DBAUTOOPT,  autooptimize);
+    writeInfo(out, DBSERCACHE, serialcache);
     writeInfo(out, DBTXTIDX,   textindex);
     writeInfo(out, DBATVIDX,   attrindex);
     writeInfo(out, DBTOKIDX,   tokenindex);
@@ -140,6 +140,11 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.autooptimize; }
   },
   /** Property. */
+  SERIALCACHE(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.serialcache; }
+  },
+  /** Property. */
   MAXCATS(true) {
     @Override
     public Integer value(final MetaData meta) { return meta.maxcats; }
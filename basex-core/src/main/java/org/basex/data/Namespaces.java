@@ -356,6 +356,14 @@ public final class Namespaces {
     if(id != 0) cursor.delete(id);
   }
 
+  /**
+   * Resets the cursor and the level of the namespace structure.
+   */
+  void reset() {
+    cursor = root;
+    level = 1;
+  }
+
   /**
    * Deletes the specified number of entries from the namespace structure.
    * @param pre pre value of the first node to delete
@@ -33,6 +33,8 @@ public class IdPreMap {
 
   /** Number of records in the table. */
   private int rows;
+  /** Indexes of the records with inserted IDs, sorted by their first ID. */
+  private final IntList order = new IntList();
 
   /**
    * Constructor.
@@ -62,6 +64,15 @@ public class IdPreMap {
       incs = in.readNums();
       oids = in.readNums();
     }
+    // sort indexes of the records with inserted IDs by their first ID (which are distinct)
+    final IntList ids = new IntList(rows);
+    for(int i = 0; i < rows; i++) {
+      if(fids[i] != INV) {
+        order.add(i);
+        ids.add(fids[i]);
+      }
+    }
+    order.sort(ids.finish(), true);
   }
 
   /**
@@ -99,9 +110,14 @@ public class IdPreMap {
     if(rows == 0 || id < pres[0]) return id;
 
     if(id > baseid) {
-      // id was inserted by update
-      for(int i = 0; i < rows; ++i) {
-        if(fids[i] <= id && id <= nids[i]) return pres[i] + id - fids[i];
+      // id was inserted by update: the ID intervals are disjoint and can be searched in log time
+      final IntList ord = order;
+      int low = 0, high = ord.size() - 1;
+      while(low <= high) {
+        final int mid = low + high >>> 1, i = ord.get(mid);
+        if(nids[i] < id) low = mid + 1;
+        else if(fids[i] > id) high = mid - 1;
+        else return pres[i] + id - fids[i];
       }
     } else {
       // id is affected by updates
@@ -285,6 +301,25 @@ public class IdPreMap {
     return rows;
   }
 
+  /**
+   * Adds the index of a new record to the list of records sorted by their first ID.
+   * Indexes of subsequent records must already have been adjusted.
+   * @param i index of the record
+   */
+  private void order(final int i) {
+    final int fid = fids[i];
+    if(fid == INV) return;
+    // find insertion point after all records with smaller or equal first IDs
+    final IntList ord = order;
+    int low = 0, high = ord.size() - 1;
+    while(low <= high) {
+      final int mid = low + high >>> 1;
+      if(fids[ord.get(mid)] <= fid) low = mid + 1;
+      else high = mid - 1;
+    }
+    ord.insert(low, i);
+  }
+
   /**
    * Searches for a given pre value.
    * @param pre pre value
@@ -353,6 +388,15 @@ public class IdPreMap {
     incs[i] = inc;
     oids[i] = oid;
     ++rows;
+
+    // update sorted record indexes
+    final IntList ord = order;
+    final int os = ord.size();
+    for(int o = 0; o < os; o++) {
+      final int v = ord.get(o);
+      if(v >= i) ord.set(o, v + 1);
+    }
+    order(i);
   }
 
   /**
@@ -370,6 +414,17 @@ public class IdPreMap {
       Array.copy(incs, last, length, incs, s);
       Array.copy(oids, last, length, oids, s);
       rows -= last - s;
+
+      // update sorted record indexes
+      final IntList ord = order;
+      final int os = ord.size();
+      int n = 0;
+      for(int o = 0; o < os; o++) {
+        final int v = ord.get(o);
+        if(v < s) ord.set(n++, v);
+        else if(v > e) ord.set(n++, v - last + s);
+      }
+      ord.size(n);
     }
   }
 
@@ -12,6 +12,7 @@ import org.basex.io.out.DataOutput;
 import org.basex.query.util.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 /**
  * This class indexes and organizes the element or attribute names used in an XML document.
@@ -25,6 +26,10 @@ public final class Names extends TokenSet implements Index {
   private Stats[] stats;
   /** Meta data. */
   private final MetaData meta;
+  /** Sorted pre values of the nodes with a given name (indexed by name id, lazy instantiation). */
+  private int[][] pres;
+  /** Cached pre values of the nodes with a specific local name. */
+  private final TokenObjMap<int[]> locals = new TokenObjMap<>();
 
   /**
    * Default constructor.
@@ -53,6 +58,52 @@ public final class Names extends TokenSet implements Index {
    */
   public void init() {
     for(int id = 1; id < size; id++) stats[id] = new Stats();
+    synchronized(this) {
+      pres = null;
+      locals.clear();
+    }
+  }
+
+  /**
+   * Returns the sorted pre values of all nodes with the specified local name.
+   * When this function is called for the first time, the pre values of all names will be
+   * collected in a single scan of the table. The results must only be used if the database
+   * is up-to-date.
+   * @param local local name
+   * @param data data reference
+   * @param kind node kind ({@link Data#ELEM} or {@link Data#ATTR})
+   * @return pre values
+   */
+  public synchronized int[] pres(final byte[] local, final Data data, final int kind) {
+    int[] list = locals.get(local);
+    if(list == null) {
+      if(pres == null) {
+        final IntList[] lists = new IntList[size];
+        final int ps = data.meta.size;
+        for(int pre = 0; pre < ps; pre++) {
+          if(data.kind(pre) != kind) continue;
+          final int id = data.nameId(pre);
+          if(lists[id] == null) lists[id] = new IntList();
+          lists[id].add(pre);
+        }
+        pres = new int[size][];
+        for(int id = 1; id < size; id++) {
+          pres[id] = lists[id] != null ? lists[id].finish() : new int[0];
+        }
+      }
+      final IntList il = new IntList();
+      int found = 0;
+      for(int id = 1; id < size; id++) {
+        if(!Token.eq(local, Token.local(keys[id]))) continue;
+        list = pres[id];
+        il.add(list);
+        found++;
+      }
+      // merge pre values of names with different prefixes
+      list = found == 0 ? new int[0] : found == 1 ? list : il.sort().finish();
+      locals.put(local, list);
+    }
+    return list;
   }
 
   /**
@@ -8,12 +8,14 @@ import java.util.*;
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.name.*;
 import org.basex.index.query.*;
 import org.basex.index.stats.*;
 import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
 import org.basex.query.util.*;
 import org.basex.util.*;
+import org.basex.util.hash.*;
 import org.basex.util.list.*;
 
 /**
@@ -30,6 +32,8 @@ public final class PathIndex implements Index {
   private Data data;
   /** Root node. */
   private PathNode root;
+  /** Cached ancestor-or-self nodes of elements with a specific local name. */
+  private final TokenObjMap<HashMap<PathNode, Boolean>> ancestors = new TokenObjMap<>();
 
   /**
    * Constructor.
@@ -81,6 +85,7 @@ public final class PathIndex implements Index {
    * Initializes the index.
    */
   public void init() {
+    ancestors.clear();
     root = new PathNode();
     stack.clear();
     stack.add(root);
@@ -179,6 +184,79 @@ public final class PathIndex implements Index {
     return nodes;
   }
 
+  /**
+   * Returns the path nodes of all elements with the specified local name and of their ancestors.
+   * Called at runtime to skip subtrees that contain no elements with the specified name.
+   * @param local local name
+   * @return map with path nodes, and flags indicating if their subtrees contain other elements
+   */
+  public synchronized HashMap<PathNode, Boolean> ancestors(final byte[] local) {
+    HashMap<PathNode, Boolean> map = ancestors.get(local);
+    if(map == null) {
+      final ArrayList<PathNode> list = new ArrayList<>();
+      final Names names = data.elemNames;
+      final int ns = names.size();
+      for(int id = 1; id <= ns; id++) {
+        if(eq(local, local(names.key(id)))) {
+          for(final PathNode child : root.children) child.addDesc(list, id);
+        }
+      }
+      final HashSet<PathNode> nodes = new HashSet<>();
+      for(final PathNode node : list) {
+        for(PathNode pn = node; pn != null && nodes.add(pn);) pn = pn.parent;
+      }
+      map = new HashMap<>();
+      if(!nodes.isEmpty()) partial(root, nodes, map);
+      ancestors.put(local, map);
+    }
+    return map;
+  }
+
+  /**
+   * Assigns flags to the specified path nodes that indicate if their subtrees contain other
+   * elements.
+   * @param node current node (must be contained in the node set)
+   * @param nodes path nodes of the relevant elements and their ancestors
+   * @param map map with path nodes and flags
+   * @return result of check
+   */
+  private static boolean partial(final PathNode node, final HashSet<PathNode> nodes,
+      final HashMap<PathNode, Boolean> map) {
+    boolean partial = false;
+    for(final PathNode child : node.children) {
+      if(child.kind == Data.ELEM) {
+        partial |= nodes.contains(child) ? partial(child, nodes, map) : true;
+      }
+    }
+    map.put(node, partial);
+    return partial;
+  }
+
+  /**
+   * Returns the path node of the specified database node.
+   * Called at runtime to skip subtrees that contain no relevant nodes.
+   * @param pre pre value of an element or document node
+   * @return path node, or {@code null} if the node is not found
+   */
+  public PathNode node(final int pre) {
+    // collect ancestors (elements) of the node
+    final IntList pres = new IntList();
+    int p = pre, k = data.kind(p);
+    for(; k == Data.ELEM; k = data.kind(p)) {
+      pres.add(p);
+      p = data.parent(p, k);
+      if(p == -1) return null;
+    }
+    if(k != Data.DOC) return null;
+
+    // follow the path from the root node
+    PathNode node = root;
+    for(int i = pres.size() - 1; i >= 0 && node != null; i--) {
+      node = node.child(data.nameId(pres.get(i)), Data.ELEM);
+    }
+    return node;
+  }
+
   /**
    * Returns descendant element and attribute names for the specified start key.
    * Called by the GUI.
@@ -154,6 +154,19 @@ public final class PathNode {
     for(final PathNode child : children) child.write(out, meta);
   }
 
+  /**
+   * Returns the child with the specified name and kind.
+   * @param id name id ({@code 0} for nodes other than elements and attributes)
+   * @param knd node kind
+   * @return child or {@code null}
+   */
+  public PathNode child(final int id, final int knd) {
+    for(final PathNode child : children) {
+      if(child.kind == knd && child.name == id) return child;
+    }
+    return null;
+  }
+
   /**
    * Recursively adds the node and its descendants to the specified list.
    * @param nodes node list
@@ -143,9 +143,10 @@ final class Docs {
     // find all document nodes in the given data instance
     final IntList il = new IntList();
     final Data src = clip.data;
+    final int off = pre - clip.start;
     for(int dpre = clip.start; dpre < clip.end;) {
       final int k = src.kind(dpre);
-      if(k == Data.DOC) il.add(pre + dpre);
+      if(k == Data.DOC) il.add(dpre + off);
       dpre += src.size(dpre, k);
     }
     final int[] pres = il.finish();
@@ -160,7 +161,7 @@ final class Docs {
     if(pathIndex) {
       final TokenList paths = paths();
       final byte[][] tmp = new byte[ps][];
-      for(int t = 0; t < ps; t++) tmp[t] = normalize(clip.data.text(pres[t] - pre, true));
+      for(int t = 0; t < ps; t++) tmp[t] = normalize(src.text(pres[t] - off, true));
       paths.insert(i, tmp);
     }
 
@@ -1,6 +1,7 @@
 package org.basex.io;
 
 import java.io.*;
+import java.nio.channels.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
@@ -279,6 +280,28 @@ public final class IOFile extends IO {
     }
   }
 
+  /**
+   * Writes a range of the file to the specified output stream. The bytes are transferred
+   * via a file channel, and the file contents will not be buffered in main memory.
+   * @param os output stream
+   * @param offset offset of the first byte
+   * @param length maximum number of bytes to be written
+   * @throws IOException I/O exception
+   */
+  public void transfer(final OutputStream os, final long offset, final long length)
+      throws IOException {
+    try(FileInputStream fis = inputStream(); FileChannel fc = fis.getChannel()) {
+      final WritableByteChannel wbc = Channels.newChannel(os);
+      final long end = Math.min(fc.size(), offset + length);
+      for(long p = offset; p < end;) {
+        final long n = fc.transferTo(p, end - p, wbc);
+        // stop if file has been truncated in the meantime
+        if(n <= 0) break;
+        p += n;
+      }
+    }
+  }
+
   /**
    * Deletes the file, or the directory and its children.
    * @return {@code true} if the file does not exist or has been deleted
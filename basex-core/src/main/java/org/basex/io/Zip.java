@@ -17,10 +17,12 @@ import org.basex.util.list.*;
 public final class Zip extends Job {
   /** Archive. */
   private final IO file;
-  /** Total files in a zip operation. */
-  private int total;
-  /** Current file in a zip operation. */
-  private int curr;
+  /** Total files or bytes in a zip operation. */
+  private long total;
+  /** Current file or byte in a zip operation. */
+  private long curr;
+  /** Output of a zip operation (can be {@code null}). */
+  private volatile ZipOutput output;
 
   /**
    * Constructor.
@@ -80,36 +82,38 @@ public final class Zip extends Job {
   }
 
   /**
-   * Zips the specified files.
+   * Zips the specified files. Entries are compressed in parallel.
    * @param root root directory
    * @param files files to add
+   * @param level compression level (0-9)
    * @throws IOException I/O exception
    */
-  public void zip(final IOFile root, final StringList files) throws IOException {
+  public void zip(final IOFile root, final StringList files, final int level) throws IOException {
     if(!(file instanceof IOFile)) throw new FileNotFoundException(file.path());
 
-    curr = 0;
-    try(ZipOutputStream out = new ZipOutputStream(new BufferOutput((IOFile) file))) {
-      // use simple, fast compression
-      out.setLevel(1);
+    total = 0;
+    for(final String f : files) total += new IOFile(root, f).length();
+    try(ZipOutput out = new ZipOutput(new BufferOutput((IOFile) file), forkPool())) {
+      out.level(level);
+      output = out;
       // loop through all files
-      total = files.size();
-      final byte[] data = new byte[IO.BLOCKSIZE];
       for(final String f : files) {
-        curr++;
-        try(FileInputStream in = new FileInputStream(new File(root.file(), f))) {
-          final String fl = Prop.WIN ? f.replace('\\', '/') : f;
-          out.putNextEntry(new ZipEntry(root.name() + '/' + fl));
-          for(int c; (c = in.read(data)) != -1;) out.write(data, 0, c);
-          out.closeEntry();
+        final File fl = new File(root.file(), f);
+        try(FileInputStream in = new FileInputStream(fl)) {
+          final String name = Prop.WIN ? f.replace('\\', '/') : f;
+          out.add(root.name() + '/' + name, fl.lastModified(), null, in);
         }
       }
+    } finally {
+      curr = total;
+      output = null;
     }
   }
 
   @Override
   public double progressInfo() {
-    return (double) curr / total;
+    final ZipOutput out = output;
+    return total == 0 ? 0 : (double) (out != null ? out.size() : curr) / total;
   }
 
   /**
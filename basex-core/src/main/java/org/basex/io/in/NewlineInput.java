@@ -65,6 +65,11 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  @Override
+  int ascii(final TokenBuilder tb, final boolean[] plain) {
+    return next == -2 ? super.ascii(tb, plain) : 0;
+  }
+
   /**
    * Reads and returns a single line.
    * @return line or {@code null}
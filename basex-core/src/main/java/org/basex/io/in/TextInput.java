@@ -136,6 +136,28 @@ public class TextInput extends BufferInput {
     return cp;
   }
 
+  /**
+   * Adds a run of plain ASCII characters from the current buffer to the specified token builder.
+   * The run ends before the first byte that is not flagged as plain, or at the end of the buffer.
+   * Nothing is copied if the input is not UTF-8 encoded.
+   * @param tb token builder
+   * @param plain flags for all plain ASCII characters (must not include control characters
+   *   other than tabs and newlines)
+   * @return number of copied newlines
+   */
+  int ascii(final TokenBuilder tb, final boolean[] plain) {
+    if(decoder.encoding != UTF8) return 0;
+    final byte[] buf = array;
+    final int s = bsize, p = bpos;
+    int b = p, nl = 0;
+    for(byte ch; b < s && (ch = buf[b]) >= 0 && plain[ch]; b++) {
+      if(ch == '\n') nl++;
+    }
+    tb.add(buf, p, b);
+    bpos = b;
+    return nl;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
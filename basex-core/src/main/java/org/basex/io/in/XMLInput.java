@@ -72,6 +72,18 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Adds a run of plain ASCII characters to the specified token builder.
+   * Characters are only copied in bulk if no characters have been pushed back.
+   * @param tb token builder
+   * @param plain flags for all plain ASCII characters (carriage returns must not be included)
+   */
+  public void ascii(final TokenBuilder tb, final boolean[] plain) {
+    if(pp != 0) return;
+    final int nl = inputs[ip].ascii(tb, plain);
+    if(ip == 0) line += nl;
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
@@ -1,5 +1,7 @@
 package org.basex.io.out;
 
+import static org.basex.util.Token.*;
+
 import java.io.*;
 
 /**
@@ -34,6 +36,11 @@ public final class NewlineOutput extends PrintOutput {
     }
   }
 
+  @Override
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    for(int t = start; t < end; t += cl(token, t)) print(cp(token, t));
+  }
+
   @Override
   public boolean finished() {
     return po.finished();
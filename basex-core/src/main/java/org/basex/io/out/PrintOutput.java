@@ -63,6 +63,17 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(os == null || size + len > max) {
+      final int l = off + len;
+      for(int o = off; o < l; o++) write(b[o]);
+    } else {
+      os.write(b, off, len);
+      size += len;
+    }
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
@@ -92,8 +103,18 @@ public class PrintOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public void print(final byte[] token) throws IOException {
-    final int tl = token.length;
-    for(int t = 0; t < tl; t += cl(token, t)) print(cp(token, t));
+    print(token, 0, token.length);
+  }
+
+  /**
+   * Prints a section of a token to the output stream.
+   * @param token token to be written
+   * @param start start position
+   * @param end end position
+   * @throws IOException I/O exception
+   */
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    write(token, start, end - start);
   }
 
   /**
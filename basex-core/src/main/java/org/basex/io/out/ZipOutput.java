@@ -0,0 +1,438 @@
+package org.basex.io.out;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Writes zip archives. Entries are split into chunks, which are compressed in parallel.
+ * The compressed chunks are concatenated to a single deflate stream per entry
+ * (chunks are terminated with a sync flush), and written in the order in which they were added.
+ * Large entries and the zip64 format are supported.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public final class ZipOutput implements Closeable {
+  /** Size of a chunk that will be compressed by a single thread. */
+  private static final int CHUNK = 1 << 20;
+  /** Maximum value of a 32 bit field; larger values require the zip64 format. */
+  private static final long MAX32 = 0xFFFFFFFFL;
+  /** Maximum value of a 16 bit field. */
+  private static final int MAX16 = 0xFFFF;
+  /** Empty chunk. */
+  private static final byte[] EMPTY = {};
+
+  /** Pending chunks. */
+  private final ArrayDeque<Chunk> pending = new ArrayDeque<>();
+  /** Written entries. */
+  private final ArrayList<Entry> entries = new ArrayList<>();
+  /** Thread pool. */
+  private final ForkJoinPool pool;
+  /** Maximum number of pending chunks. */
+  private final int max;
+  /** Output stream. */
+  private final OutputStream out;
+
+  /** Compression level. */
+  private int level = Deflater.DEFAULT_COMPRESSION;
+  /** Number of written bytes. */
+  private long written;
+  /** Number of uncompressed bytes of the chunks that have been compressed and written. */
+  private volatile long size;
+  /** Indicates if the archive was closed. */
+  private boolean closed;
+
+  /**
+   * Constructor.
+   * @param out output stream
+   * @param pool thread pool for compressing chunks
+   */
+  public ZipOutput(final OutputStream out, final ForkJoinPool pool) {
+    this.out = out;
+    this.pool = pool;
+    max = Math.max(2, pool.getParallelism() << 1);
+  }
+
+  /**
+   * Sets the compression level of the following entries.
+   * @param l level (0-9, or -1 for default compression)
+   * @throws IllegalArgumentException invalid compression level
+   */
+  public void level(final int l) {
+    if(l < Deflater.DEFAULT_COMPRESSION || l > Deflater.BEST_COMPRESSION)
+      throw new IllegalArgumentException("Invalid compression level: " + l);
+    level = l;
+  }
+
+  /**
+   * Returns the number of uncompressed bytes that have been compressed and written so far.
+   * @return number of bytes
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Adds an entry with the specified contents.
+   * @param name name of entry
+   * @param time modification time (current time if {@code -1})
+   * @param comment comment (can be {@code null})
+   * @param data data to be compressed
+   * @throws IOException I/O exception
+   */
+  public void add(final String name, final long time, final String comment, final byte[] data)
+      throws IOException {
+
+    final Entry entry = new Entry(name, time, comment);
+    final int dl = data.length;
+    int off = 0;
+    do {
+      final int len = Math.min(CHUNK, dl - off);
+      submit(entry, data, off, len, off + len == dl);
+      off += len;
+    } while(off < dl);
+  }
+
+  /**
+   * Adds an entry with the contents of the specified input stream.
+   * The input stream will not be closed.
+   * @param name name of entry
+   * @param time modification time (current time if {@code -1})
+   * @param comment comment (can be {@code null})
+   * @param in input stream
+   * @throws IOException I/O exception
+   */
+  public void add(final String name, final long time, final String comment, final InputStream in)
+      throws IOException {
+
+    final Entry entry = new Entry(name, time, comment);
+    byte[] chunk = read(in);
+    while(true) {
+      final byte[] next = chunk.length == CHUNK ? read(in) : EMPTY;
+      final boolean last = next.length == 0;
+      submit(entry, chunk, 0, chunk.length, last);
+      if(last) break;
+      chunk = next;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if(closed) return;
+    closed = true;
+    try {
+      while(!pending.isEmpty()) write(pending.poll());
+      finish();
+    } finally {
+      for(final Chunk chunk : pending) chunk.data.cancel(true);
+      out.close();
+    }
+  }
+
+  // PRIVATE METHODS ==============================================================================
+
+  /**
+   * Reads the next chunk from the specified input stream.
+   * @param in input stream
+   * @return chunk (smaller than the chunk size if the end of the input has been reached)
+   * @throws IOException I/O exception
+   */
+  private static byte[] read(final InputStream in) throws IOException {
+    final byte[] chunk = new byte[CHUNK];
+    int l = 0;
+    for(int r; l < CHUNK && (r = in.read(chunk, l, CHUNK - l)) != -1;) l += r;
+    return l == CHUNK ? chunk : Arrays.copyOf(chunk, l);
+  }
+
+  /**
+   * Submits a chunk for compression. Writes the oldest pending chunks if too many chunks are
+   * currently processed.
+   * @param entry entry
+   * @param data data
+   * @param off offset
+   * @param len length
+   * @param last last chunk of the entry
+   * @throws IOException I/O exception
+   */
+  private void submit(final Entry entry, final byte[] data, final int off, final int len,
+      final boolean last) throws IOException {
+
+    entry.crc.update(data, off, len);
+    entry.size += len;
+
+    final int lvl = level;
+    final Future<byte[]> future = pool.submit(() -> {
+      final Deflater deflater = new Deflater(lvl, true);
+      try {
+        deflater.setInput(data, off, len);
+        if(last) deflater.finish();
+        final ByteList bl = new ByteList(len / 2 + 64);
+        final byte[] buffer = new byte[Math.max(len / 8, 1 << 12)];
+        while(true) {
+          final int c = deflater.deflate(buffer, 0, buffer.length,
+              last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+          bl.add(buffer, 0, c);
+          if(last ? deflater.finished() : c < buffer.length) break;
+        }
+        return bl.finish();
+      } finally {
+        deflater.end();
+      }
+    });
+    pending.add(new Chunk(entry, future, len, last));
+    while(pending.size() > max) write(pending.poll());
+  }
+
+  /**
+   * Writes a compressed chunk. Writes the local header before the first chunk of an entry,
+   * and the data descriptor after the last chunk.
+   * @param chunk chunk
+   * @throws IOException I/O exception
+   */
+  private void write(final Chunk chunk) throws IOException {
+    final byte[] data;
+    try {
+      data = chunk.data.get();
+    } catch(final InterruptedException ex) {
+      throw new InterruptedIOException(ex.getMessage());
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      throw new IOException(th);
+    }
+
+    final Entry entry = chunk.entry;
+    if(entry.offset == -1) {
+      // local file header: sizes and checksum will be written to the data descriptor
+      entry.offset = written;
+      int4(0x04034b50);
+      int2(20);
+      int2(entry.flag);
+      int2(ZipEntry.DEFLATED);
+      int4(entry.time);
+      int4(0);
+      int4(0);
+      int4(0);
+      int2(entry.name.length);
+      int2(0);
+      bytes(entry.name);
+    }
+    bytes(data);
+    entry.csize += data.length;
+    size += chunk.size;
+
+    if(chunk.last) {
+      // data descriptor
+      int4(0x08074b50);
+      int4(entry.crc.getValue());
+      if(entry.zip64()) {
+        int8(entry.csize);
+        int8(entry.size);
+      } else {
+        int4(entry.csize);
+        int4(entry.size);
+      }
+      entries.add(entry);
+    }
+  }
+
+  /**
+   * Writes the central directory.
+   * @throws IOException I/O exception
+   */
+  private void finish() throws IOException {
+    final long cen = written;
+    for(final Entry entry : entries) {
+      final boolean size64 = entry.zip64(), offset64 = entry.offset >= MAX32;
+      final int extra = (size64 ? 16 : 0) + (offset64 ? 8 : 0);
+      final int version = extra > 0 ? 45 : 20;
+      int4(0x02014b50);
+      int2(version);
+      int2(version);
+      int2(entry.flag);
+      int2(ZipEntry.DEFLATED);
+      int4(entry.time);
+      int4(entry.crc.getValue());
+      int4(size64 ? MAX32 : entry.csize);
+      int4(size64 ? MAX32 : entry.size);
+      int2(entry.name.length);
+      int2(extra > 0 ? extra + 4 : 0);
+      int2(entry.comment.length);
+      int2(0);
+      int2(0);
+      int4(0);
+      int4(offset64 ? MAX32 : entry.offset);
+      bytes(entry.name);
+      if(extra > 0) {
+        int2(0x0001);
+        int2(extra);
+        if(size64) {
+          int8(entry.size);
+          int8(entry.csize);
+        }
+        if(offset64) int8(entry.offset);
+      }
+      bytes(entry.comment);
+    }
+
+    final long end = written, len = end - cen;
+    final int es = entries.size();
+    if(es >= MAX16 || cen >= MAX32 || len >= MAX32) {
+      // zip64 end of central directory record and locator
+      int4(0x06064b50);
+      int8(44);
+      int2(45);
+      int2(45);
+      int4(0);
+      int4(0);
+      int8(es);
+      int8(es);
+      int8(len);
+      int8(cen);
+      int4(0x07064b50);
+      int4(0);
+      int8(end);
+      int4(1);
+    }
+    // end of central directory record
+    int4(0x06054b50);
+    int2(0);
+    int2(0);
+    int2(Math.min(es, MAX16));
+    int2(Math.min(es, MAX16));
+    int4(Math.min(len, MAX32));
+    int4(Math.min(cen, MAX32));
+    int2(0);
+    out.flush();
+  }
+
+  /**
+   * Writes a 16 bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void int2(final int v) throws IOException {
+    out.write(v);
+    out.write(v >>> 8);
+    written += 2;
+  }
+
+  /**
+   * Writes a 32 bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void int4(final long v) throws IOException {
+    int2((int) v);
+    int2((int) (v >>> 16));
+  }
+
+  /**
+   * Writes a 64 bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void int8(final long v) throws IOException {
+    int4(v);
+    int4(v >>> 32);
+  }
+
+  /**
+   * Writes a byte array.
+   * @param bytes bytes
+   * @throws IOException I/O exception
+   */
+  private void bytes(final byte[] bytes) throws IOException {
+    out.write(bytes);
+    written += bytes.length;
+  }
+
+  /** Zip entry. */
+  private static final class Entry {
+    /** Checksum. */
+    private final CRC32 crc = new CRC32();
+    /** Name. */
+    private final byte[] name;
+    /** Comment. */
+    private final byte[] comment;
+    /** Modification time (DOS format). */
+    private final long time;
+    /** General purpose flags. */
+    private final int flag;
+    /** Offset of local header ({@code -1} if it has not been written yet). */
+    private long offset = -1;
+    /** Uncompressed size. */
+    private long size;
+    /** Compressed size. */
+    private long csize;
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param time modification time (current time if {@code -1})
+     * @param comment comment (can be {@code null})
+     */
+    Entry(final String name, final long time, final String comment) {
+      this.name = name.getBytes(StandardCharsets.UTF_8);
+      this.comment = comment == null ? EMPTY : comment.getBytes(StandardCharsets.UTF_8);
+      this.time = dosTime(time == -1 ? System.currentTimeMillis() : time);
+      // data descriptor, UTF-8 encoding
+      flag = 0x08 | 0x800;
+    }
+
+    /**
+     * Indicates if the sizes of this entry require zip64 fields in the central directory.
+     * @return result of check
+     */
+    boolean zip64() {
+      return size >= MAX32 || csize >= MAX32;
+    }
+
+    /**
+     * Converts a timestamp to the DOS format.
+     * @param time timestamp
+     * @return DOS time
+     */
+    private static long dosTime(final long time) {
+      final LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time),
+          ZoneId.systemDefault());
+      final int year = ldt.getYear();
+      if(year < 1980) return 1 << 21 | 1 << 16;
+      return (long) (year - 1980) << 25 | ldt.getMonthValue() << 21 | ldt.getDayOfMonth() << 16 |
+          ldt.getHour() << 11 | ldt.getMinute() << 5 | ldt.getSecond() >> 1;
+    }
+  }
+
+  /** Chunk of an entry. */
+  private static final class Chunk {
+    /** Entry. */
+    private final Entry entry;
+    /** Compressed data. */
+    private final Future<byte[]> data;
+    /** Uncompressed size. */
+    private final int size;
+    /** Last chunk of the entry. */
+    private final boolean last;
+
+    /**
+     * Constructor.
+     * @param entry entry
+     * @param data compressed data
+     * @param size uncompressed size
+     * @param last last chunk of the entry
+     */
+    Chunk(final Entry entry, final Future<byte[]> data, final int size, final boolean last) {
+      this.entry = entry;
+      this.data = data;
+      this.size = size;
+      this.last = last;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package org.basex.io.parse.csv;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Parses a CSV file in parallel. The input is split into chunks at record boundaries
+ * (quoted entries may contain newlines), and the chunks are tokenized in parallel.
+ * The resulting events are passed on to the converter in the original order.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+final class CsvChunks {
+  /** Minimum size of a chunk that will be parsed by a single thread. */
+  private static final int CHUNK = 1 << 22;
+
+  /** Pending chunks. */
+  private final ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+  /** Thread pool. */
+  private final ForkJoinPool pool;
+  /** Maximum number of pending chunks. */
+  private final int max;
+  /** Converter. */
+  private final CsvConverter conv;
+  /** Options. */
+  private final CsvParserOptions copts;
+  /** Backslash flag. */
+  private final boolean backslashes;
+  /** Column separator. */
+  private final int separator;
+  /** Parse quotes. */
+  private final boolean quotes;
+
+  /**
+   * Constructor.
+   * @param copts options
+   * @param conv converter
+   */
+  private CsvChunks(final CsvParserOptions copts, final CsvConverter conv) {
+    this.copts = copts;
+    this.conv = conv;
+    pool = conv.forkPool();
+    max = Math.max(2, pool.getParallelism() << 1);
+    separator = copts.separator();
+    quotes = copts.get(CsvOptions.QUOTES);
+    backslashes = copts.get(CsvOptions.BACKSLASHES);
+  }
+
+  /**
+   * Checks if the specified file can be parsed in parallel. This is the case if the file
+   * is UTF-8 encoded, and if the column separator is an ASCII character.
+   * @param file input file
+   * @param copts options
+   * @return result of check
+   * @throws IOException I/O exception
+   */
+  static boolean supported(final IOFile file, final CsvParserOptions copts) throws IOException {
+    final String encoding = copts.get(CsvParserOptions.ENCODING);
+    if(encoding != null && !encoding.isEmpty() && Strings.normEncoding(encoding) != Strings.UTF8 ||
+        copts.separator() >= 0x80) return false;
+    // reject UTF-16 input (detected via byte order mark)
+    try(InputStream in = file.inputStream()) {
+      final int a = in.read(), b = in.read();
+      return !(a == 0xFF && b == 0xFE || a == 0xFE && b == 0xFF);
+    }
+  }
+
+  /**
+   * Parses the specified file in parallel and directs the parse events to the given converter.
+   * @param file input file
+   * @param copts options
+   * @param conv converter
+   * @throws IOException I/O exception
+   */
+  static void parse(final IOFile file, final CsvParserOptions copts, final CsvConverter conv)
+      throws IOException {
+    new CsvChunks(copts, conv).parse(file);
+  }
+
+  /**
+   * Parses the specified file.
+   * @param file input file
+   * @throws IOException I/O exception
+   */
+  private void parse(final IOFile file) throws IOException {
+    // header will only be parsed in the first chunk
+    final CsvParserOptions data = new CsvParserOptions(copts);
+    data.set(CsvOptions.HEADER, false);
+
+    final long length = file.length();
+    long read = 0;
+    try(InputStream in = file.inputStream()) {
+      byte[] buffer = new byte[CHUNK];
+      int size = 0;
+      boolean eof = false;
+      while(!eof) {
+        while(size < buffer.length) {
+          final int r = in.read(buffer, size, buffer.length - size);
+          if(r == -1) {
+            eof = true;
+            break;
+          }
+          size += r;
+        }
+        // find end of the last complete record
+        final int end = eof ? size : boundary(buffer, size);
+        if(end == 0) {
+          // no record boundary found: enlarge buffer
+          if(!eof) buffer = Arrays.copyOf(buffer, buffer.length << 1);
+          continue;
+        }
+        final byte[] chunk = Arrays.copyOf(buffer, end);
+        final CsvParserOptions opts = read == 0 ? copts : data;
+        read += end;
+        submit(chunk, opts, read, length);
+        size -= end;
+        System.arraycopy(buffer, end, buffer, 0, size);
+      }
+      while(!pending.isEmpty()) replay(pending.poll());
+    } finally {
+      // parsing failed: stop remaining chunks
+      for(final Future<Chunk> future : pending) future.cancel(true);
+    }
+  }
+
+  /**
+   * Returns the offset after the last complete record in the specified buffer.
+   * The scan mirrors the state transitions of {@link CsvParser}.
+   * @param buffer buffer
+   * @param size number of bytes in the buffer
+   * @return offset (0, if no record boundary was found)
+   */
+  private int boundary(final byte[] buffer, final int size) {
+    final int sep = separator;
+    boolean quoted = false, empty = true;
+    int end = 0;
+    for(int b = 0; b < size; b++) {
+      final byte ch = buffer[b];
+      if(quoted) {
+        if(ch == '"') {
+          // closing quote or escaped quote: look at next character
+          if(b + 1 == size) break;
+          if(buffer[b + 1] == '"') b++;
+          else quoted = false;
+        } else if(ch == '\\' && backslashes) {
+          if(b + 2 >= size) break;
+          b = escaped(buffer, b);
+        }
+        empty = false;
+      } else if(ch == '"') {
+        if(quotes && empty) quoted = true;
+        else empty = false;
+      } else if(ch == sep) {
+        empty = true;
+      } else if(ch == '\n') {
+        empty = true;
+        end = b + 1;
+      } else if(ch == '\r') {
+        empty = true;
+      } else if(ch == '\\' && backslashes) {
+        if(b + 2 >= size) break;
+        b = escaped(buffer, b);
+        empty = false;
+      } else {
+        empty = false;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Skips an escaped character.
+   * @param buffer buffer
+   * @param b offset of the backslash
+   * @return offset of the last byte of the escaped character
+   */
+  private static int escaped(final byte[] buffer, final int b) {
+    // CRLF will be normalized to a single newline
+    return buffer[b + 1] == '\r' && buffer[b + 2] == '\n' ? b + 2 : b + 1;
+  }
+
+  /**
+   * Submits a chunk for parsing. Passes on the oldest pending chunks if too many chunks are
+   * currently processed.
+   * @param chunk chunk
+   * @param opts options
+   * @param read number of bytes read after this chunk
+   * @param length total number of bytes
+   * @throws IOException I/O exception
+   */
+  private void submit(final byte[] chunk, final CsvParserOptions opts, final long read,
+      final long length) throws IOException {
+    pending.add(pool.submit(() -> {
+      final Chunk ch = new Chunk(opts, (double) read / length);
+      try(NewlineInput ni = new NewlineInput(chunk)) {
+        CsvParser.parse(ni.encoding(opts.get(CsvParserOptions.ENCODING)), opts, ch);
+      }
+      return ch;
+    }));
+    while(pending.size() > max) replay(pending.poll());
+  }
+
+  /**
+   * Passes on the events of a parsed chunk to the converter.
+   * @param future parsed chunk
+   * @throws IOException I/O exception
+   */
+  private void replay(final Future<Chunk> future) throws IOException {
+    final Chunk chunk;
+    try {
+      chunk = future.get();
+    } catch(final InterruptedException ex) {
+      throw new InterruptedIOException(ex.getMessage());
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      throw new IOException(th);
+    }
+    for(final byte[] header : chunk.headers) conv.header(header);
+    for(final byte[] entry : chunk.entries) {
+      if(entry == null) conv.record();
+      else conv.entry(entry);
+    }
+    conv.done = chunk.progress;
+  }
+
+  /** Parse events of a single chunk. */
+  private static final class Chunk extends CsvConverter {
+    /** Entries ({@code null} references indicate new records). */
+    private final TokenList entries = new TokenList();
+    /** Progress after this chunk. */
+    private final double progress;
+
+    /**
+     * Constructor.
+     * @param copts options
+     * @param progress progress after this chunk
+     */
+    private Chunk(final CsvParserOptions copts, final double progress) {
+      super(copts);
+      this.progress = progress;
+    }
+
+    @Override
+    protected void header(final byte[] string) {
+      headers.add(string);
+    }
+
+    @Override
+    protected void record() {
+      entries.add((byte[]) null);
+    }
+
+    @Override
+    protected void entry(final byte[] value) {
+      entries.add(value);
+    }
+
+    @Override
+    protected Item finish() {
+      return null;
+    }
+  }
+}
@@ -38,8 +38,10 @@ public abstract class CsvConverter extends Job {
   protected int col;
   /** CSV options. */
   private final CsvParserOptions copts;
-  /** Current input. */
+  /** Current input (can be {@code null}). */
   protected NewlineInput nli;
+  /** Progress of a parallel conversion. */
+  double done;
 
   /**
    * Constructor.
@@ -58,6 +60,11 @@ public abstract class CsvConverter extends Job {
    * @throws IOException I/O exception
    */
   public final Item convert(final IO input) throws IOException {
+    if(copts.get(CsvParserOptions.PARALLEL) && input instanceof IOFile &&
+        CsvChunks.supported((IOFile) input, copts)) {
+      CsvChunks.parse((IOFile) input, copts, this);
+      return finish();
+    }
     try(NewlineInput in = new NewlineInput(input)) {
       nli = in;
       CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
@@ -65,6 +72,14 @@ public abstract class CsvConverter extends Job {
     return finish();
   }
 
+  /**
+   * Returns the progress of the conversion.
+   * @return progress (0-1)
+   */
+  protected final double progress() {
+    return nli != null ? (double) nli.size() / nli.length() : done;
+  }
+
   /**
    * Returns a CSV converter for the given configuration.
    * @param copts options
@@ -48,8 +48,9 @@ public abstract class JsonConverter {
   public final Item convert(final IO input) throws IOException {
     final String encoding = jopts.get(JsonParserOptions.ENCODING);
     try(NewlineInput ni = new NewlineInput(input)) {
-      return convert(ni.encoding(encoding).content(), input.path());
+      JsonParser.parse(ni.encoding(encoding), input.path(), jopts, this);
     }
+    return finish();
   }
 
   /**
@@ -60,7 +61,14 @@ public abstract class JsonConverter {
    * @return result
    */
   public final Item convert(final byte[] input, final String path) throws QueryIOException {
-    JsonParser.parse(Token.string(input), path, jopts, this);
+    try(TextInput ti = new TextInput(input)) {
+      JsonParser.parse(ti, path, jopts, this);
+    } catch(final QueryIOException ex) {
+      throw ex;
+    } catch(final IOException ex) {
+      // input is read from main memory
+      throw Util.notExpected(ex);
+    }
     return finish();
   }
 
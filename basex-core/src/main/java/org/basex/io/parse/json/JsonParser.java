@@ -3,20 +3,26 @@ package org.basex.io.parse.json;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import java.io.*;
+import java.util.*;
+
 import org.basex.build.json.*;
 import org.basex.build.json.JsonOptions.*;
 import org.basex.build.json.JsonParserOptions.JsonDuplicates;
+import org.basex.core.*;
+import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 
 /**
  * A JSON parser generating parse events similar to a SAX XML parser.
+ * The input is read incrementally: only the current character is buffered.
  *
  * @author BaseX Team 2005-19, BSD License
  * @author Leo Woerteler
  */
-final class JsonParser extends InputParser {
+final class JsonParser {
   /** Names of control characters not allowed in string literals. */
   private static final String[] CTRL = {
     // U+0000 -- U+001F
@@ -26,6 +32,10 @@ final class JsonParser extends InputParser {
     "CAN", "EM",  "SUB", "ESC", "FS",  "GS",  "RS",  "US",
   };
 
+  /** Input. */
+  private final TextInput input;
+  /** Input path (can be {@code null)}. */
+  private final String path;
   /** Converter. */
   private final JsonConverter conv;
   /** Spec. */
@@ -37,14 +47,24 @@ final class JsonParser extends InputParser {
   /** Token builder for string literals. */
   private final TokenBuilder tb = new TokenBuilder();
 
+  /** Current codepoint ({@code -1} if the end of the input has been reached). */
+  private int curr;
+  /** Line of the current codepoint. */
+  private int line = 1;
+  /** Column of the current codepoint. */
+  private int col = 1;
+
   /**
-   * Constructor taking the input string and the spec according to which it is parsed.
-   * @param in input string
+   * Constructor taking the input and the spec according to which it is parsed.
+   * @param input input
+   * @param path input path (can be {@code null)}
    * @param opts options
    * @param conv converter
    */
-  private JsonParser(final String in, final JsonParserOptions opts, final JsonConverter conv) {
-    super(in);
+  private JsonParser(final TextInput input, final String path, final JsonParserOptions opts,
+      final JsonConverter conv) {
+    this.input = input;
+    this.path = path;
     liberal = opts.get(JsonParserOptions.LIBERAL);
     escape = opts.get(JsonParserOptions.ESCAPE);
     final JsonDuplicates dupl = opts.get(JsonParserOptions.DUPLICATES);
@@ -54,43 +74,43 @@ final class JsonParser extends InputParser {
   }
 
   /**
-   * Parses the input string, directs the parse events to the given handler and returns
+   * Parses the input, directs the parse events to the given handler and returns
    * the resulting value.
-   * @param input input string
+   * @param input input
    * @param path input path (can be {@code null)}
    * @param opts options
    * @param conv converter
-   * @throws QueryIOException parse exception
+   * @throws IOException I/O exception
    */
-  static void parse(final String input, final String path, final JsonParserOptions opts,
-      final JsonConverter conv) throws QueryIOException {
-    final JsonParser parser = new JsonParser(input, opts, conv);
-    parser.file = path;
-    parser.parse();
+  static void parse(final TextInput input, final String path, final JsonParserOptions opts,
+      final JsonConverter conv) throws IOException {
+    new JsonParser(input, path, opts, conv).parse();
   }
 
   /**
    * Parses a JSON expression.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void parse() throws QueryIOException {
-    consume('\uFEFF');
+  private void parse() throws IOException {
+    curr = input.read();
+    consume(0xFEFF);
     skipWs();
     try {
       value();
     } catch(final StackOverflowError er) {
       throw error("Input is too deeply nested");
     }
-    if(more()) throw error("Unexpected trailing content: %", remaining());
+    if(curr != -1) throw error("Unexpected trailing content: %", remaining());
   }
 
   /**
    * Parses a JSON value.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void value() throws QueryIOException {
-    if(pos >= length) throw eof(", expected JSON value.");
-    switch(curr()) {
+  private void value() throws IOException {
+    switch(curr) {
+      case -1:
+        throw eof(", expected JSON value.");
       case '[':
         array();
         break;
@@ -115,27 +135,34 @@ final class JsonParser extends InputParser {
         // number
         conv.numberLit(number());
         break;
+      case 't':
+        literal(TRUE);
+        conv.booleanLit(TRUE);
+        break;
+      case 'f':
+        literal(FALSE);
+        conv.booleanLit(FALSE);
+        break;
+      case 'n':
+        literal(JsonConstants.NULL);
+        conv.nullLit();
+        break;
       default:
-        // boolean, null or constructor
-        if(consume("true")) conv.booleanLit(TRUE);
-        else if(consume("false")) conv.booleanLit(FALSE);
-        else if(consume("null")) conv.nullLit();
-        else throw error("Unexpected JSON value: '%'", remaining());
-        skipWs();
+        throw error("Unexpected JSON value: '%'", remaining());
     }
   }
 
   /**
    * Parses a JSON object.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void object() throws QueryIOException {
+  private void object() throws IOException {
     consumeWs('{', true);
     conv.openObject();
     if(!consumeWs('}', false)) {
       final TokenSet set = new TokenSet();
       do {
-        final byte[] key = !liberal || curr() == '"' ? string() : unquoted();
+        final byte[] key = !liberal || curr == '"' ? string() : unquoted();
         final boolean dupl = set.contains(key);
         if(dupl && duplicates == JsonDuplicates.REJECT)
           throw error(JSON_DUPL_X_X_X, "Key \"%\" occurs more than once", key);
@@ -146,7 +173,7 @@ final class JsonParser extends InputParser {
         value();
         conv.closePair(add);
         set.put(key);
-      } while(consumeWs(',', false) && !(liberal && curr() == '}'));
+      } while(consumeWs(',', false) && !(liberal && curr == '}'));
       consumeWs('}', true);
     }
     conv.closeObject();
@@ -154,9 +181,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON array.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void array() throws QueryIOException {
+  private void array() throws IOException {
     consumeWs('[', true);
     conv.openArray();
     if(!consumeWs(']', false)) {
@@ -164,26 +191,43 @@ final class JsonParser extends InputParser {
         conv.openItem();
         value();
         conv.closeItem();
-      } while(consumeWs(',', false) && !(liberal && curr() == ']'));
+      } while(consumeWs(',', false) && !(liberal && curr == ']'));
       consumeWs(']', true);
     }
     conv.closeArray();
   }
 
+  /**
+   * Parses a literal.
+   * @param literal literal (ASCII characters)
+   * @throws IOException I/O exception
+   */
+  private void literal(final byte[] literal) throws IOException {
+    final int ln = line, cl = col, ll = literal.length;
+    for(int l = 0; l < ll; l++) {
+      if(curr != literal[l]) {
+        // report error at the start of the literal
+        line = ln;
+        col = cl;
+        throw error("Unexpected JSON value: '%'", remaining(Arrays.copyOf(literal, l)));
+      }
+      consume();
+    }
+    skipWs();
+  }
+
   /**
    * Reads an unquoted string literal.
    * @return the string
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] unquoted() throws QueryIOException {
-    int cp = more() ? input.codePointAt(pos) : -1;
-    if(cp < 0 || !Character.isJavaIdentifierStart(cp))
+  private byte[] unquoted() throws IOException {
+    if(curr == -1 || !Character.isJavaIdentifierStart(curr))
       throw error("Expected unquoted string, found %", remaining());
     tb.reset();
     do {
-      tb.add(cp);
-      cp = input.codePointAt(pos += cp < 0x10000 ? 1 : 2);
-    } while(Character.isJavaIdentifierPart(cp));
+      tb.add(consume());
+    } while(curr != -1 && Character.isJavaIdentifierPart(curr));
     skipWs();
     return tb.toArray();
   }
@@ -191,9 +235,9 @@ final class JsonParser extends InputParser {
   /**
    * Parses a number literal.
    * @return string representation
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] number() throws QueryIOException {
+  private byte[] number() throws IOException {
     tb.reset();
 
     // integral part
@@ -206,88 +250,59 @@ final class JsonParser extends InputParser {
     }
 
     final boolean zero = ch == '0';
-    ch = curr();
-    if(zero && ch >= '0' && ch <= '9') throw error("No digit allowed after '0'");
+    if(zero && digit()) throw error("No digit allowed after '0'");
+    while(digit()) tb.add(consume());
 
-    LOOP:
-    while(true) {
-      switch(ch) {
-        case '0':
-        case '1':
-        case '2':
-        case '3':
-        case '4':
-        case '5':
-        case '6':
-        case '7':
-        case '8':
-        case '9':
-          tb.add(ch);
-          pos++;
-          ch = curr();
-          break;
-        case '.':
-        case 'e':
-        case 'E':
-          break LOOP;
-        default:
-          skipWs();
-          return tb.toArray();
-      }
-    }
-
-    if(consume('.')) {
-      tb.add('.');
-      ch = curr();
-      if(ch < '0' || ch > '9') throw error("Number expected after '.'");
-      do {
-        tb.add(ch);
-        pos++;
-        ch = curr();
-      } while(ch >= '0' && ch <= '9');
-      if(ch != 'e' && ch != 'E') {
-        skipWs();
-        return tb.toArray();
-      }
+    if(curr == '.') {
+      tb.add(consume());
+      if(!digit()) throw error("Number expected after '.'");
+      do tb.add(consume());
+      while(digit());
     }
 
-    // 'e' or 'E'
-    tb.add(consume());
-    ch = curr();
-    if(ch == '-' || ch == '+') {
+    if(curr == 'e' || curr == 'E') {
       tb.add(consume());
-      ch = curr();
+      if(curr == '-' || curr == '+') tb.add(consume());
+      if(!digit()) throw error("Exponent expected");
+      do tb.add(consume());
+      while(digit());
     }
-
-    if(ch < '0' || ch > '9') throw error("Exponent expected");
-    do tb.add(consume());
-    while((ch = curr()) >= '0' && ch <= '9');
     skipWs();
     return tb.toArray();
   }
 
+  /**
+   * Checks if the current character is a digit.
+   * @return result of check
+   */
+  private boolean digit() {
+    return curr >= '0' && curr <= '9';
+  }
+
   /**
    * Parses a string literal.
    * @return the string
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] string() throws QueryIOException {
-    if(!consume('"')) throw error("Expected string, found '%'", curr());
+  private byte[] string() throws IOException {
+    if(!consume('"')) throw error("Expected string, found '%'", found());
     tb.reset();
-    char high = 0; // cached high surrogate
-    while(pos < length) {
-      final int p = pos;
+    // cached high surrogate, and its escape sequence
+    int high = 0;
+    String highSeq = null;
+    while(curr != -1) {
       int ch = consume();
 
       // string is closed..
       if(ch == '"') {
         // unpaired surrogate?
-        if(high != 0) add(high, pos - 7, p);
+        if(high != 0) add(high, highSeq);
         skipWs();
         return tb.toArray();
       }
 
       // escape sequence
+      String seq = null;
       if(ch == '\\') {
         ch = consume();
         switch(ch) {
@@ -311,19 +326,23 @@ final class JsonParser extends InputParser {
             ch = '\t';
             break;
           case 'u':
-            if(pos + 4 >= length) throw eof(", expected four-digit hex value");
+            final StringBuilder sb = new StringBuilder("\\u");
             ch = 0;
             for(int i = 0; i < 4; i++) {
-              final char x = consume();
+              if(curr == -1) throw eof(", expected four-digit hex value");
+              final int x = consume();
               if(x >= '0' && x <= '9')      ch = 16 * ch + x      - '0';
               else if(x >= 'a' && x <= 'f') ch = 16 * ch + x + 10 - 'a';
               else if(x >= 'A' && x <= 'F') ch = 16 * ch + x + 10 - 'A';
-              else throw error("Illegal hexadecimal digit: '%'", x);
+              else throw error("Illegal hexadecimal digit: '%'", cpToken(x));
+              sb.append((char) x);
             }
+            seq = sb.toString();
             break;
-
+          case -1:
+            throw eof(" in string literal");
           default:
-            throw error("Unknown character escape: '\\%'", ch);
+            throw error("Unknown character escape: '\\%'", cpToken(ch));
         }
       } else if(!liberal && ch <= 0x1F) {
         throw error("Non-escaped control character: '\\%'", CTRL[ch]);
@@ -335,16 +354,17 @@ final class JsonParser extends InputParser {
           ch = (high - 0xD800 << 10) + ch - 0xDC00 + 0x10000;
         } else {
           // add invalid high surrogate, treat expected low surrogate as new character
-          add(high, p, pos);
+          add(high, highSeq);
         }
         high = 0;
       }
 
       if(ch >= 0xD800 && ch <= 0xDBFF) {
         // remember high surrogate
-        high = (char) ch;
+        high = ch;
+        highSeq = seq;
       } else {
-        add(ch, p, pos);
+        add(ch, seq);
       }
     }
     throw eof(" in string literal");
@@ -353,10 +373,9 @@ final class JsonParser extends InputParser {
   /**
    * Adds the specified character.
    * @param ch character
-   * @param s start position of invalid unicode sequence
-   * @param e end position
+   * @param seq escape sequence of the character (can be {@code null})
    */
-  private void add(final int ch, final int s, final int e) {
+  private void add(final int ch, final String seq) {
     if(escape) {
       if(ch == '\\') {
         tb.add("\\\\");
@@ -381,20 +400,23 @@ final class JsonParser extends InputParser {
     } else if(conv.fallback == null) {
       tb.add(REPLACEMENT);
     } else {
-      tb.add(conv.fallback.convert(input.substring(s, e)));
+      tb.add(conv.fallback.convert(seq != null ? seq : new String(Character.toChars(ch))));
     }
   }
 
-  /** Consumes all whitespace characters from the remaining query. */
-  private void skipWs() {
-    while(pos < length) {
-      switch(input.charAt(pos)) {
+  /**
+   * Consumes all whitespace characters from the remaining input.
+   * @throws IOException I/O exception
+   */
+  private void skipWs() throws IOException {
+    while(true) {
+      switch(curr) {
         case ' ':
         case '\t':
         case '\r':
         case '\n':
         case '\u00A0': // non-breaking space
-          pos++;
+          consume();
           break;
         default:
           return;
@@ -402,23 +424,86 @@ final class JsonParser extends InputParser {
     }
   }
 
+  /**
+   * Consumes the current character and reads the next one.
+   * @return consumed character
+   * @throws IOException I/O exception
+   */
+  private int consume() throws IOException {
+    final int ch = curr;
+    if(ch == '\n') {
+      line++;
+      col = 1;
+    } else if(ch != '\r') {
+      col++;
+    }
+    curr = input.read();
+    return ch;
+  }
+
+  /**
+   * Tries to consume the given character.
+   * @param ch character to be consumed
+   * @return if the character was consumed
+   * @throws IOException I/O exception
+   */
+  private boolean consume(final int ch) throws IOException {
+    if(curr != ch) return false;
+    consume();
+    return true;
+  }
+
   /**
    * Tries to consume the given character. If successful, following whitespace is skipped.
    * Otherwise if the error flag is set a parse error is thrown.
    * @param ch character to be consumed
    * @param err error flag
    * @return if the character was consumed
-   * @throws QueryIOException parse error
+   * @throws IOException I/O exception
    */
-  private boolean consumeWs(final char ch, final boolean err) throws QueryIOException {
+  private boolean consumeWs(final char ch, final boolean err) throws IOException {
     if(consume(ch)) {
       skipWs();
       return true;
     }
-    if(err) throw error("Expected '%', found '%'", ch, curr());
+    if(err) throw error("Expected '%', found '%'", ch, found());
     return false;
   }
 
+  /**
+   * Returns the current character as string.
+   * @return current character
+   */
+  private String found() {
+    return curr == -1 ? "" : new String(Character.toChars(curr));
+  }
+
+  /**
+   * Returns a maximum of 15 remaining characters that have not yet been parsed.
+   * The characters will be read, but the position of the parser remains unchanged.
+   * @return remaining characters
+   * @throws IOException I/O exception
+   */
+  private String remaining() throws IOException {
+    return remaining(EMPTY);
+  }
+
+  /**
+   * Returns a maximum of 15 characters, starting with an already consumed prefix.
+   * The characters will be read, but the position of the parser remains unchanged.
+   * @param prefix prefix (ASCII characters)
+   * @return remaining characters
+   * @throws IOException I/O exception
+   */
+  private String remaining(final byte[] prefix) throws IOException {
+    final TokenBuilder rem = new TokenBuilder(prefix);
+    for(int c = prefix.length; c < 15 && curr != -1 && curr != '\n'; c++) {
+      rem.add(curr);
+      curr = input.read();
+    }
+    return rem + (curr == -1 ? "" : Text.DOTS);
+  }
+
   /**
    * Throws an end-of-input error.
    * @param desc description
@@ -447,7 +532,7 @@ final class JsonParser extends InputParser {
    * @return build exception
    */
   private QueryIOException error(final QueryError err, final String msg, final Object... ext) {
-    final InputInfo ii = new InputInfo(this);
-    return new QueryIOException(err.get(ii, ii.line(), ii.column(), Util.inf(msg, ext)));
+    final InputInfo ii = new InputInfo(path, line, col);
+    return new QueryIOException(err.get(ii, line, col, Util.inf(msg, ext)));
   }
 }
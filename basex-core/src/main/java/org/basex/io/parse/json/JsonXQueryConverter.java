@@ -10,7 +10,7 @@ import org.basex.query.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
-import org.basex.query.value.map.XQMap;
+import org.basex.query.value.map.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
 
@@ -39,7 +39,7 @@ public final class JsonXQueryConverter extends JsonConverter {
   /** Stack for intermediate array values. */
   private final Stack<ValueList> arrays = new Stack<>();
   /** Stack for intermediate maps values. */
-  private final Stack<XQMap> maps = new Stack<>();
+  private final Stack<MapBuilder> maps = new Stack<>();
 
   /**
    * Constructor.
@@ -61,7 +61,7 @@ public final class JsonXQueryConverter extends JsonConverter {
 
   @Override
   void openObject() {
-    maps.push(XQMap.EMPTY);
+    maps.push(new MapBuilder());
   }
 
   @Override
@@ -75,7 +75,7 @@ public final class JsonXQueryConverter extends JsonConverter {
     final Item key = (Item) stack.pop();
     if(add) {
       try {
-        maps.push(maps.pop().put(key, value, null));
+        maps.peek().put(key, value);
       } catch(final QueryException ex) {
         throw new QueryIOException(ex);
       }
@@ -84,7 +84,7 @@ public final class JsonXQueryConverter extends JsonConverter {
 
   @Override
   void closeObject() {
-    stack.push(maps.pop());
+    stack.push(maps.pop().finish());
   }
 
   @Override
@@ -25,6 +25,11 @@ import org.basex.util.options.*;
  * @author Christian Gruen
  */
 abstract class MarkupSerializer extends StandardSerializer {
+  /** Bytes of text values that need to be checked before they are printed. */
+  private static final boolean[] TEXT = escape("&<>");
+  /** Bytes of attribute values that need to be checked before they are printed. */
+  private static final boolean[] ATTVALUE = escape("&<>\"\t\n");
+
   /** System document type. */
   String docsys;
   /** Public document type. */
@@ -50,6 +55,8 @@ abstract class MarkupSerializer extends StandardSerializer {
 
   /** Media type. */
   private final String media;
+  /** Indicates if characters that need no escaping can be printed in bulk. */
+  private final boolean bulk;
 
   /**
    * Constructor.
@@ -82,6 +89,8 @@ abstract class MarkupSerializer extends StandardSerializer {
     if(docpub.isEmpty()) docpub = null;
 
     final boolean html = this instanceof HTMLSerializer;
+    bulk = !html && encoding == Strings.UTF8 && form == null &&
+        sopts.get(USE_CHARACTER_MAPS).isEmpty();
     final boolean xml = this instanceof XMLSerializer || this instanceof XHTMLSerializer;
     if(xml || html) {
       if(undecl && ver.equals(V10)) throw SERUNDECL.getIO();
@@ -122,16 +131,11 @@ abstract class MarkupSerializer extends StandardSerializer {
     out.print(name);
     out.print(ATT1);
     final byte[] val = norm(value);
-    final int vl = val.length;
-    for(int k = 0; k < vl; k += cl(val, k)) {
-      final int cp = cp(val, k);
-      if(cp == '"') {
-        out.print(E_QUOT);
-      } else if(cp == 0x9 || cp == 0xA) {
-        printHex(cp);
-      } else {
-        printChar(cp);
-      }
+    if(bulk) {
+      printBulk(val, ATTVALUE);
+    } else {
+      final int vl = val.length;
+      for(int k = 0; k < vl; k += cl(val, k)) attChar(cp(val, k));
     }
     out.print(ATT2);
   }
@@ -144,8 +148,10 @@ abstract class MarkupSerializer extends StandardSerializer {
       final ArrayList<QNm> qnames = cdata();
       final int vl = val.length;
       if(qnames.isEmpty() || elems.isEmpty() || !qnames.contains(elems.peek())) {
-        for(int k = 0; k < vl; k += cl(val, k)) {
-          printChar(cp(val, k));
+        if(bulk) {
+          printBulk(val, TEXT);
+        } else {
+          for(int k = 0; k < vl; k += cl(val, k)) printChar(cp(val, k));
         }
       } else {
         out.print(CDATA_O);
@@ -356,6 +362,62 @@ abstract class MarkupSerializer extends StandardSerializer {
 
   // PRIVATE METHODS ==============================================================================
 
+  /**
+   * Prints a character of an attribute value.
+   * @param cp codepoint
+   * @throws IOException I/O exception
+   */
+  private void attChar(final int cp) throws IOException {
+    if(cp == '"') {
+      out.print(E_QUOT);
+    } else if(cp == 0x9 || cp == 0xA) {
+      printHex(cp);
+    } else {
+      printChar(cp);
+    }
+  }
+
+  /**
+   * Prints a text or attribute value. Runs of bytes that need no escaping are printed in bulk.
+   * @param value value
+   * @param check bytes that need to be checked
+   * @throws IOException I/O exception
+   */
+  private void printBulk(final byte[] value, final boolean[] check) throws IOException {
+    final boolean att = check == ATTVALUE;
+    final int vl = value.length;
+    int s = 0;
+    for(int v = 0; v < vl; v++) {
+      if(!check[value[v] & 0xFF]) continue;
+      final int cp = cp(value, v), cl = cl(value, v);
+      // non-ASCII characters: only C1 control characters and line separators are escaped
+      if(cp >= 0x80 && cp < 0xA0 || cp == 0x2028 || cp < 0x80) {
+        out.print(value, s, v);
+        if(att) attChar(cp);
+        else printChar(cp);
+        s = v + cl;
+      }
+      v += cl - 1;
+    }
+    out.print(value, s, vl);
+  }
+
+  /**
+   * Returns flags for all bytes that need to be checked before they are printed.
+   * @param chars ASCII characters to be escaped
+   * @return flags
+   */
+  private static boolean[] escape(final String chars) {
+    final boolean[] check = new boolean[0x100];
+    for(int c = 0; c < 0x100; c++) {
+      check[c] = c < ' ' && c != '\t' && c != '\n' || c == 0x7F || chars.indexOf(c) != -1;
+    }
+    // lead bytes of C1 control characters (U+0080-U+009F) and the line separator (U+2028)
+    check[0xC2] = true;
+    check[0xE2] = true;
+    return check;
+  }
+
   /**
    * Retrieves a value from the specified option and checks for supported values.
    * @param option option
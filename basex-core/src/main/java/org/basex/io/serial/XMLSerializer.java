@@ -1,8 +1,18 @@
 package org.basex.io.serial;
 
 import static org.basex.data.DataText.*;
+import static org.basex.io.serial.SerializerOptions.*;
 
 import java.io.*;
+import java.nio.file.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+import org.basex.util.options.Options.*;
 
 /**
  * This class serializes items as XML.
@@ -11,6 +21,9 @@ import java.io.*;
  * @author Christian Gruen
  */
 public class XMLSerializer extends MarkupSerializer {
+  /** Maximum number of cached documents per database. */
+  private static final int MAXCACHED = 1000;
+
   /**
    * Constructor, specifying serialization options.
    * @param os output stream
@@ -21,8 +34,110 @@ public class XMLSerializer extends MarkupSerializer {
     super(os, sopts, V10, V11);
   }
 
+  @Override
+  protected void node(final ANode node) throws IOException {
+    if(more || !(node instanceof DBNode) || !cached((DBNode) node)) super.node(node);
+  }
+
   @Override
   protected void doctype(final byte[] type) throws IOException {
     if(docsys != null) printDoctype(type, docpub, docsys);
   }
+
+  /**
+   * Outputs a database document from the cache of serialized documents
+   * (see {@link MainOptions#SERIALCACHE}). The document will be cached if no entry exists
+   * for the current database state and serialization parameters.
+   * @param node database node
+   * @return {@code true} if the document was output
+   * @throws IOException I/O exception
+   */
+  private boolean cached(final DBNode node) throws IOException {
+    final Data data = node.data();
+    final MetaData meta = data.meta;
+    final IOFile dir = meta.serialDir();
+    final int pre = node.pre();
+    if(!meta.serialcache || dir == null || data.kind(pre) != Data.DOC ||
+        node instanceof FTPosNode || docsys != null || sopts.get(LIMIT) != -1) return false;
+
+    // file name: document id, database timestamp, hash of the serialization parameters
+    final IOFile file = new IOFile(dir, data.id(pre) + "-" + meta.time + '-' +
+        Strings.md5(sopts.toString()));
+    if(!file.exists() && !cache(node, file)) return false;
+    try {
+      file.transfer(out, 0, Long.MAX_VALUE);
+    } catch(final FileNotFoundException | NoSuchFileException ex) {
+      // the file has been evicted by another serializer in the meantime
+      Util.debug(ex);
+      return false;
+    }
+
+    // adopt the state that would result from serializing the children of the document
+    final int size = pre + data.size(pre, Data.DOC);
+    int kind = Data.DOC;
+    for(int p = pre + 1; p < size; p += data.size(p, kind)) {
+      kind = data.kind(p);
+      if(kind == Data.ELEM || kind == Data.TEXT) root = true;
+    }
+    sep = kind != Data.DOC && kind != Data.TEXT;
+    return true;
+  }
+
+  /**
+   * Serializes a database document to the specified cache file.
+   * The file is first written to a temporary path and then renamed.
+   * If the maximum number of cached documents is exceeded, the oldest entries are deleted.
+   * @param node document node
+   * @param file cache file
+   * @return success flag
+   * @throws IOException I/O exception
+   */
+  private boolean cache(final DBNode node, final IOFile file) throws IOException {
+    // the cached representation includes no declaration and byte order mark
+    final SerializerOptions so = new SerializerOptions(sopts);
+    so.set(OMIT_XML_DECLARATION, YesNo.YES);
+    so.set(STANDALONE, YesNoOmit.OMIT);
+    so.set(BYTE_ORDER_MARK, YesNo.NO);
+
+    file.parent().md();
+    final IOFile tmp = new IOFile(file.path() + '.' + Thread.currentThread().getId());
+    try {
+      try(FileOutputStream fos = tmp.outputStream()) {
+        final XMLSerializer ser = new XMLSerializer(fos, so);
+        ser.node(node);
+        ser.close();
+      }
+      if(!tmp.rename(file)) tmp.delete();
+      evict(file.parent());
+      return file.exists();
+    } catch(final IOException ex) {
+      tmp.delete();
+      if(ex instanceof QueryIOException) throw ex;
+      Util.debug(ex);
+      return false;
+    }
+  }
+
+  /**
+   * Deletes the oldest cache files if the maximum number of cached documents is exceeded.
+   * @param dir cache directory
+   */
+  private static void evict(final IOFile dir) {
+    // ignore temporary files (which contain a dot)
+    final IOFile[] files = dir.children("[^.]+");
+    for(int fl = files.length; fl > MAXCACHED; fl--) {
+      int oldest = -1;
+      long time = Long.MAX_VALUE;
+      for(int f = 0; f < files.length; f++) {
+        if(files[f] == null) continue;
+        final long ts = files[f].timeStamp();
+        if(ts < time) {
+          time = ts;
+          oldest = f;
+        }
+      }
+      files[oldest].delete();
+      files[oldest] = null;
+    }
+  }
 }
@@ -33,10 +33,20 @@ public final class CsvXQuerySerializer extends CsvSerializer {
 
   @Override
   public void serialize(final Item item) throws IOException {
+    // single records can be supplied as arrays, which are output one by one
+    if(item instanceof XQArray) {
+      try {
+        record((XQArray) item, new TokenList());
+      } catch(final QueryException ex) {
+        throw new QueryIOException(ex);
+      }
+      return;
+    }
+
     if(sep && level == 0) out.print(' ');
 
     if(!(item instanceof XQMap))
-      throw CSV_SERIALIZE_X.getIO("Top level must be a map; " + item.type + " found");
+      throw CSV_SERIALIZE_X.getIO("Top level must be a map or array; " + item.type + " found");
 
     final XQMap m = (XQMap) item;
     final TokenList tl = new TokenList();
@@ -31,6 +31,8 @@ public abstract class JsonSerializer extends StandardSerializer {
   private final boolean escape;
   /** Allow duplicate names. */
   private final boolean nodups;
+  /** Output items as separate lines. */
+  private final boolean lines;
 
   /**
    * Constructor.
@@ -43,13 +45,19 @@ public abstract class JsonSerializer extends StandardSerializer {
     jopts = opts.get(SerializerOptions.JSON);
     escape = jopts.get(JsonSerialOptions.ESCAPE);
     nodups = opts.get(SerializerOptions.ALLOW_DUPLICATE_NAMES) == YesNo.NO;
+    lines = jopts.get(JsonSerialOptions.LINES);
     final Boolean ji = jopts.get(JsonSerialOptions.INDENT);
-    if(ji != null) indent = ji;
+    if(lines) indent = false;
+    else if(ji != null) indent = ji;
   }
 
   @Override
   public void serialize(final Item item) throws IOException {
-    if(sep) throw SERJSON.getIO();
+    if(sep) {
+      // sequences can only be output as JSON lines
+      if(!lines) throw SERJSON.getIO();
+      out.print('\n');
+    }
     if(item == null) {
       out.print(JsonConstants.NULL);
     } else {
@@ -174,7 +182,7 @@ public abstract class JsonSerializer extends StandardSerializer {
 
   @Override
   public void close() throws IOException {
-    if(!sep) out.print(JsonConstants.NULL);
+    if(!sep && !lines) out.print(JsonConstants.NULL);
     super.close();
   }
 }
@@ -49,6 +49,8 @@ public final class QueryResources {
 
   /** Opened databases (both temporary and persistent ones). */
   private final ArrayList<Data> datas = new ArrayList<>(1);
+  /** Temporary databases on disk, which will be dropped when the query is closed. */
+  private final ArrayList<Data> temps = new ArrayList<>(0);
   /** External resources. */
   private final Map<Class<? extends QueryResource>, QueryResource> external = new HashMap<>();
   /** Input references. */
@@ -91,6 +93,9 @@ public final class QueryResources {
   void close() {
     for(final Data data : datas) Close.close(data, qc.context);
     datas.clear();
+    // drop temporary databases
+    for(final Data data : temps) DropDB.drop(data, qc.context.soptions);
+    temps.clear();
     // close dynamically loaded JAR files
     if(modules != null) modules.close();
     modules = null;
@@ -385,7 +390,7 @@ public final class QueryResources {
 
     // check opened databases
     for(final Data data : datas) {
-      if(withdb || data.inMemory()) {
+      if(withdb || data.inMemory() || temps.contains(data)) {
         // compare input path
         final String orig = data.meta.original;
         if(!orig.isEmpty() && IO.get(orig).eq(qi.io)) {
@@ -444,12 +449,22 @@ public final class QueryResources {
     final MainOptions opts = new MainOptions(context.options, true);
     final Parser parser = new DirParser(io, opts);
 
+    // create temporary database on disk if input exceeds the memory limit.
+    // the name starts with a dot: the database is neither listed nor accessible by other jobs
+    final boolean temp = mem && !MemBuilder.fits(io, context.options);
+    final StaticOptions sopts = context.soptions;
+    final String name = temp ? sopts.createRandomDb('.' + io.dbName()) : io.dbName();
     final Data data;
     try {
-      data = CreateDB.create(io.dbName(), parser, context, opts, mem);
+      data = CreateDB.create(name, parser, context, opts, mem && !temp);
     } catch(final IOException ex) {
+      if(temp) DropDB.drop(name, sopts);
       throw IOERR_X.get(ii, ex);
     }
+    if(temp) {
+      data.meta.temp = true;
+      temps.add(data);
+    }
     return addData(data);
   }
 
@@ -395,6 +395,7 @@ public interface QueryText {
   /** Query Info. */ String DATABASE = "database";
   /** Query Info. */ String ITERATIVE = "iterative";
   /** Query Info. */ String SINGLE = "single";
+  /** Query Info. */ String PARALLEL = "parallel";
   /** Query Info. */ String LINE = "line";
   /** Query Info. */ String COLUMN = "column";
   /** Query Info. */ String PATH = "path";
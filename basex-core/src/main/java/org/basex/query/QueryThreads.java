@@ -19,6 +19,9 @@ public final class QueryThreads {
   /** Comparison caches. */
   private final IdentityHashMap<CmpHashG, ThreadLocal<CmpCache>> cmpCache =
       new IdentityHashMap<>();
+  /** Filter caches. */
+  private final IdentityHashMap<HashFilter, ThreadLocal<FilterCache>> filterCache =
+      new IdentityHashMap<>();
   /** Full-text tokenizers. */
   private final IdentityHashMap<FTWords, ThreadLocal<FTTokenizer>> ftCache =
       new IdentityHashMap<>();
@@ -41,6 +44,15 @@ public final class QueryThreads {
     return cmpCache.computeIfAbsent(expr, p -> ThreadLocal.withInitial(CmpCache::new));
   }
 
+  /**
+   * Returns local thread for the given expression.
+   * @param expr expression
+   * @return cache
+   */
+  public ThreadLocal<FilterCache> get(final HashFilter expr) {
+    return filterCache.computeIfAbsent(expr, p -> ThreadLocal.withInitial(FilterCache::new));
+  }
+
   /**
    * Returns local thread for the given expression.
    * @param expr expression
@@ -53,9 +65,10 @@ public final class QueryThreads {
   /**
    * Closes threads.
    */
-  void close() {
+  public void close() {
     for(final ThreadLocal<PathCache> cache : pathCache.values()) cache.remove();
     for(final ThreadLocal<CmpCache> cache : cmpCache.values()) cache.remove();
+    for(final ThreadLocal<FilterCache> cache : filterCache.values()) cache.remove();
     for(final ThreadLocal<FTTokenizer> cache : ftCache.values()) cache.remove();
   }
 }
@@ -108,6 +108,10 @@ public abstract class Filter extends Preds {
         return cc.replaceWith(this, iff);
       }
 
+      // use hash index for repeated equality comparisons: $values[@id = $id]
+      final HashFilter hash = HashFilter.get(root, exprs, info);
+      if(hash != null) return copyType(hash);
+
       // otherwise, return iterative filter
       return copyType(new IterFilter(info, root, exprs));
     }
@@ -0,0 +1,34 @@
+package org.basex.query.expr;
+
+import org.basex.query.util.hash.*;
+import org.basex.query.value.*;
+import org.basex.util.list.*;
+
+/**
+ * Hash index for the items of a filtered value.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public final class FilterCache {
+  /** Filtered value. */
+  Value value;
+  /** Indexed keys (can be {@code null}). */
+  HashItemSet keys;
+  /** Positions of the items with a specific key (indexed by the key id). */
+  IntList[] positions;
+
+  /**
+   * Checks if the specified value is indexed. If the value is filtered for the first time,
+   * it will only be remembered, and the index will be built with the next call.
+   * @param val value
+   * @return result of check
+   */
+  boolean active(final Value val) {
+    if(value == val) return true;
+    value = val;
+    keys = null;
+    positions = null;
+    return false;
+  }
+}
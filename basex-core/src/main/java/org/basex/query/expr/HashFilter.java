@@ -0,0 +1,166 @@
+package org.basex.query.expr;
+
+import org.basex.query.*;
+import org.basex.query.expr.CmpG.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.util.hash.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * Filter expression with a single equality comparison, which compares a key of the context
+ * item with a value that is independent of the context. If the same value is filtered
+ * repeatedly (e.g., in the inner loop of a join), a hash index will be created for the keys,
+ * and matching items will be looked up in constant time.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public final class HashFilter extends CachedFilter {
+  /** Index of the operand of the comparison that yields the key of the context item. */
+  private final int key;
+
+  /**
+   * Constructor.
+   * @param info input info
+   * @param root root expression
+   * @param key index of the operand that yields the key of the context item
+   * @param preds predicates
+   */
+  private HashFilter(final InputInfo info, final Expr root, final int key, final Expr... preds) {
+    super(info, root, preds);
+    this.key = key;
+  }
+
+  /**
+   * Returns a hash filter if the specified filter can be evaluated via a hash index.
+   * @param root root expression
+   * @param preds predicates
+   * @param info input info
+   * @return hash filter or {@code null}
+   */
+  static HashFilter get(final Expr root, final Expr[] preds, final InputInfo info) {
+    // root must yield an identical value for each call
+    if(preds.length != 1 || !(root instanceof VarRef || root instanceof Value) ||
+        root.seqType().zeroOrOne() || !(preds[0] instanceof CmpG)) return null;
+
+    final CmpG cmp = (CmpG) preds[0];
+    if(cmp.op != OpG.EQ || cmp.coll != null) return null;
+
+    // check if items can be compared via hashing
+    final Type type1 = cmp.exprs[0].seqType().type.atomic();
+    final Type type2 = cmp.exprs[1].seqType().type.atomic();
+    if(type1 == null || type2 == null || !(type1.isNumber() && type2.isNumber() ||
+        type1.isStringOrUntyped() && type2.isStringOrUntyped())) return null;
+
+    for(int k = 0; k < 2; k++) {
+      // skip constant values (the filter will only be evaluated once)
+      final Expr expr = cmp.exprs[k], value = cmp.exprs[1 - k];
+      if(value instanceof Value || value.has(Flag.CTX, Flag.POS, Flag.NDT) ||
+          !expr.has(Flag.CTX) || expr.has(Flag.POS, Flag.NDT)) continue;
+      // key must only depend on the context item
+      final boolean local = expr.accept(new ASTVisitor() {
+        @Override
+        public boolean used(final VarRef ref) {
+          return false;
+        }
+      });
+      if(local) return new HashFilter(info, root, k, preds);
+    }
+    return null;
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Value value = root.value(qc);
+    final FilterCache cache = qc.threads.get(this).get();
+    if(qc.scoring || value.size() > Integer.MAX_VALUE || !cache.active(value))
+      return super.value(qc);
+    if(cache.keys == null) index(cache, qc);
+
+    // look up positions of the matching items
+    final HashItemSet keys = cache.keys;
+    final IntList[] positions = cache.positions;
+    IntList pos = null;
+    boolean merge = false;
+    final Iter iter = ((CmpG) exprs[0]).exprs[1 - key].atomIter(qc, info);
+    for(Item item; (item = qc.next(iter)) != null;) {
+      final int id = keys.id(item, info);
+      if(id == 0) continue;
+      if(pos == null) {
+        pos = positions[id];
+      } else {
+        if(!merge) pos = new IntList().add(pos.toArray());
+        pos.add(positions[id].toArray());
+        merge = true;
+      }
+    }
+    if(pos == null) return Empty.VALUE;
+    // restore order of the items
+    if(merge) pos.ddo();
+
+    final int ps = pos.size();
+    final ItemList items = new ItemList(ps);
+    for(int p = 0; p < ps; p++) items.add(value.itemAt(pos.get(p)));
+    return items.value(this);
+  }
+
+  /**
+   * Creates the index for the currently filtered value.
+   * @param cache filter cache
+   * @param qc query context
+   * @throws QueryException query exception
+   */
+  private void index(final FilterCache cache, final QueryContext qc) throws QueryException {
+    final HashItemSet keys = new HashItemSet(true);
+    IntList[] positions = new IntList[Array.CAPACITY];
+
+    final Value value = cache.value;
+    final Expr expr = ((CmpG) exprs[0]).exprs[key];
+    final QueryFocus qf = qc.focus, focus = new QueryFocus();
+    qc.focus = focus;
+    try {
+      final int vs = (int) value.size();
+      focus.size = vs;
+      for(int v = 0; v < vs; v++) {
+        final Item item = value.itemAt(v);
+        focus.value = item;
+        focus.pos = v + 1;
+        final Iter iter = expr.atomIter(qc, info);
+        for(Item atom; (atom = qc.next(iter)) != null;) {
+          final int id = keys.put(atom, info);
+          if(id == positions.length) positions = Array.copy(positions, new IntList[id << 1]);
+          IntList list = positions[id];
+          if(list == null) {
+            list = new IntList(1);
+            positions[id] = list;
+          }
+          // skip duplicate positions (resulting from multiple identical keys)
+          if(list.isEmpty() || list.peek() != v) list.add(v);
+        }
+      }
+    } finally {
+      qc.focus = qf;
+    }
+    cache.keys = keys;
+    cache.positions = positions;
+  }
+
+  @Override
+  public Filter copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return copyType(new HashFilter(info, root.copy(cc, vm), key, Arr.copyAll(cc, vm, exprs)));
+  }
+
+  @Override
+  public String description() {
+    return "hashed " + super.description();
+  }
+}
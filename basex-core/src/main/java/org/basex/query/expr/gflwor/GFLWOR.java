@@ -1,8 +1,11 @@
 package org.basex.query.expr.gflwor;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
+import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.path.*;
@@ -12,6 +15,7 @@ import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
@@ -29,6 +33,8 @@ public final class GFLWOR extends ParseExpr {
   public final LinkedList<Clause> clauses;
   /** Return expression. */
   public Expr rtrn;
+  /** Parallel evaluation of the first for clause (assigned during optimization). */
+  private boolean parallel;
 
   /**
    * Constructor.
@@ -53,9 +59,50 @@ public final class GFLWOR extends ParseExpr {
   }
 
   @Override
-  public Iter iter(final QueryContext qc) {
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return fork(qc) ? value(qc).iter() : iter(newEval(), qc);
+  }
+
+  /**
+   * Checks if the expression will be evaluated in parallel.
+   * Nested expressions are evaluated sequentially by the worker threads.
+   * @param qc query context
+   * @return result of check
+   */
+  private boolean fork(final QueryContext qc) {
+    return parallel && !qc.scoring && !ForkJoinTask.inForkJoinPool() &&
+        qc.context.jobs.forkPool().getParallelism() > 1;
+  }
+
+  /**
+   * Returns an iterator for the first results of this expression.
+   * If the last clause is an order by clause, and if a single item is returned for each tuple,
+   * only the required number of tuples will be sorted.
+   * @param qc query context
+   * @param limit maximum number of results that will be requested
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  public Iter iter(final QueryContext qc, final long limit) throws QueryException {
+    final Clause last = clauses.getLast();
+    if(!(last instanceof OrderBy) || !rtrn.seqType().one()) return iter(qc);
+
+    Eval eval = new StartEval();
+    for(final Clause clause : clauses) {
+      eval = clause == last ? ((OrderBy) clause).eval(eval, limit) : clause.eval(eval);
+    }
+    return iter(eval, qc);
+  }
+
+  /**
+   * Returns an iterator for the specified evaluator.
+   * @param eval evaluator
+   * @param qc query context
+   * @return iterator
+   */
+  private Iter iter(final Eval eval, final QueryContext qc) {
     return new Iter() {
-      private final Eval ev = newEval();
+      private final Eval ev = eval;
       private Iter sub = Empty.ITER;
 
       @Override
@@ -75,12 +122,96 @@ public final class GFLWOR extends ParseExpr {
 
   @Override
   public Value value(final QueryContext qc) throws QueryException {
+    if(fork(qc)) {
+      final Value items = ((For) clauses.getFirst()).expr.value(qc);
+      final long size = items.size();
+      final ForkJoinPool pool = qc.context.jobs.forkPool();
+      final int chunks = (int) Math.min(size, pool.getParallelism() * 4L);
+      return chunks > 1 ? value(items, chunks, pool, qc) : value(items, 0, size, qc);
+    }
+
     final Eval eval = newEval();
     final ValueBuilder vb = new ValueBuilder(qc);
     while(eval.next(qc)) vb.add(rtrn.value(qc));
     return vb.value(this);
   }
 
+  /**
+   * Evaluates this expression in parallel. The items of the first for clause are partitioned
+   * into chunks, which are evaluated by separate tasks; the results are joined in order.
+   * @param items items of the first for clause
+   * @param chunks number of chunks
+   * @param pool thread pool
+   * @param qc query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value value(final Value items, final int chunks, final ForkJoinPool pool,
+      final QueryContext qc) throws QueryException {
+
+    // sub contexts are created and closed in the current thread
+    final long size = items.size();
+    final ArrayList<GFLWORTask> tasks = new ArrayList<>(chunks);
+    try {
+      for(int c = 0; c < chunks; c++) {
+        final QueryContext qctx = new QueryContext(qc);
+        qctx.stack.copy(qc.stack);
+        qctx.focus = qc.focus.copy();
+        final GFLWORTask task = new GFLWORTask(this, items, size * c / chunks,
+            size * (c + 1) / chunks, qctx);
+        tasks.add(task);
+        pool.execute(task);
+      }
+      final ValueBuilder vb = new ValueBuilder(qc);
+      for(final GFLWORTask task : tasks) vb.add(task.join());
+      return vb.value(this);
+    } catch(final RuntimeException ex) {
+      // pass on query and job exceptions
+      final Throwable th = Util.rootException(ex);
+      if(th instanceof QueryException) throw (QueryException) th;
+      if(th instanceof JobException) throw (JobException) th;
+      throw ex;
+    } finally {
+      for(final GFLWORTask task : tasks) {
+        task.cancel(false);
+        task.quietlyJoin();
+        task.qc.close();
+      }
+    }
+  }
+
+  /**
+   * Evaluates this expression for a range of the items of the first for clause.
+   * @param items items of the first for clause
+   * @param start first item (inclusive)
+   * @param end last item (exclusive)
+   * @param qc query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  Value value(final Value items, final long start, final long end, final QueryContext qc)
+      throws QueryException {
+
+    final For fr = (For) clauses.getFirst();
+    Eval eval = new Eval() {
+      private long p = start;
+
+      @Override
+      public boolean next(final QueryContext q) throws QueryException {
+        if(p == end) return false;
+        q.set(fr.var, items.itemAt(p++));
+        if(fr.pos != null) q.set(fr.pos, Int.get(p));
+        return true;
+      }
+    };
+    final Iterator<Clause> iter = clauses.listIterator(1);
+    while(iter.hasNext()) eval = iter.next().eval(eval);
+
+    final ValueBuilder vb = new ValueBuilder(qc);
+    while(eval.next(qc)) vb.add(rtrn.value(qc));
+    return vb.value(this);
+  }
+
   @Override
   public Expr compile(final CompileContext cc) throws QueryException {
     final ListIterator<Clause> iter = clauses.listIterator();
@@ -121,6 +252,7 @@ public final class GFLWOR extends ParseExpr {
     } else {
       exprType.assign(rtrn.seqType().type, calcSize(true));
       expr = simplify(cc);
+      if(expr == this) parallel = parallel(cc);
     }
 
     if(expr == rtrn) {
@@ -130,6 +262,21 @@ public final class GFLWOR extends ParseExpr {
     return cc.replaceWith(this, expr);
   }
 
+  /**
+   * Checks if the first for clause of this expression can be evaluated in parallel.
+   * @param cc compilation context
+   * @return result of check
+   */
+  private boolean parallel(final CompileContext cc) {
+    if(!cc.qc.context.options.get(MainOptions.PARALLELFOR)) return false;
+    final Clause first = clauses.getFirst();
+    if(!(first instanceof For)) return false;
+    final For fr = (For) first;
+    // tuples must be independent of each other and of the evaluation order
+    return fr.score == null && !fr.scoring && !fr.empty && isFLW() &&
+        !has(Flag.NDT, Flag.UPD);
+  }
+
   /**
    * Simplifies a FLWOR expression.
    * @param cc compilation context
@@ -863,7 +1010,9 @@ public final class GFLWOR extends ParseExpr {
   public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final LinkedList<Clause> cls = new LinkedList<>();
     for(final Clause clause : clauses) cls.add(clause.copy(cc, vm));
-    return copyType(new GFLWOR(info, cls, rtrn.copy(cc, vm)));
+    final GFLWOR flwor = new GFLWOR(info, cls, rtrn.copy(cc, vm));
+    flwor.parallel = parallel;
+    return copyType(flwor);
   }
 
   /**
@@ -929,7 +1078,9 @@ public final class GFLWOR extends ParseExpr {
 
   @Override
   public void plan(final QueryPlan plan) {
-    plan.add(plan.create(this), clauses.toArray(new Clause[0]), rtrn);
+    final FElem elem = plan.create(this);
+    if(parallel) plan.addAttribute(elem, QueryText.PARALLEL, true);
+    plan.add(elem, clauses.toArray(new Clause[0]), rtrn);
   }
 
   @Override
@@ -0,0 +1,54 @@
+package org.basex.query.expr.gflwor;
+
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+
+/**
+ * Evaluates a FLWOR expression for a range of the items of its first for clause.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+final class GFLWORTask extends RecursiveTask<Value> {
+  /** Query context of this task. */
+  final QueryContext qc;
+  /** FLWOR expression. */
+  private final GFLWOR flwor;
+  /** Items of the first for clause. */
+  private final Value items;
+  /** First item (inclusive). */
+  private final long start;
+  /** Last item (exclusive). */
+  private final long end;
+
+  /**
+   * Constructor.
+   * @param flwor FLWOR expression
+   * @param items items of the first for clause
+   * @param start first item (inclusive)
+   * @param end last item (exclusive)
+   * @param qc query context of this task
+   */
+  GFLWORTask(final GFLWOR flwor, final Value items, final long start, final long end,
+      final QueryContext qc) {
+    this.flwor = flwor;
+    this.items = items;
+    this.start = start;
+    this.end = end;
+    this.qc = qc;
+  }
+
+  @Override
+  protected Value compute() {
+    try {
+      return flwor.value(items, start, end, qc);
+    } catch(final QueryException ex) {
+      throw new QueryRTException(ex);
+    } finally {
+      // release thread-local caches of the worker thread
+      qc.threads.close();
+    }
+  }
+}
@@ -1,6 +1,6 @@
 package org.basex.query.expr.gflwor;
 
-import org.basex.query.value.*;
+import org.basex.query.util.list.*;
 import org.basex.query.value.item.*;
 
 /**
@@ -13,7 +13,7 @@ final class Group {
   /** Grouping key, may contain {@code null} values. */
   final Item[] key;
   /** Non-grouping variables. */
-  final ValueBuilder[] ngv;
+  final ItemList[] ngv;
   /** Overflow list. */
   Group next;
 
@@ -22,7 +22,7 @@ final class Group {
    * @param k grouping key
    * @param ng non-grouping variables
    */
-  Group(final Item[] k, final ValueBuilder[] ng) {
+  Group(final Item[] k, final ItemList[] ng) {
     key = k;
     ngv = ng;
   }
@@ -8,6 +8,7 @@ import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
+import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
@@ -109,7 +110,7 @@ public final class GroupBy extends Clause {
           }
         }
         final int pl = post.length;
-        for(int i = 0; i < pl; i++) qc.set(post[i], curr.ngv[i].value());
+        for(int i = 0; i < pl; i++) qc.set(post[i], curr.ngv[i].value(preExpr[i]));
         return true;
       }
 
@@ -127,8 +128,9 @@ public final class GroupBy extends Clause {
           if(!spec.occluded) colls[c++] = spec.coll;
         }
 
+        // keys of the current tuple (copied if a new group is created)
+        final Item[] key = new Item[nonOcc];
         while(sub.next(qc)) {
-          final Item[] key = new Item[nonOcc];
           int p = 0, hash = 1;
           for(final GroupSpec spec : specs) {
             final Item atom = spec.atomItem(qc, info);
@@ -156,10 +158,9 @@ public final class GroupBy extends Clause {
           final int pl = preExpr.length;
           if(grp == null) {
             // new group, add it to the list
-            final ValueBuilder[] ngs = new ValueBuilder[pl];
-            final int nl = ngs.length;
-            for(int n = 0; n < nl; n++) ngs[n] = new ValueBuilder(qc);
-            grp = new Group(key, ngs);
+            final ItemList[] ngs = new ItemList[pl];
+            for(int n = 0; n < pl; n++) ngs[n] = new ItemList();
+            grp = new Group(key.clone(), ngs);
             grps.add(grp);
 
             // insert the group into the hash table
@@ -4,7 +4,6 @@ import static org.basex.query.QueryError.*;
 import static org.basex.query.QueryText.*;
 
 import java.util.*;
-import java.util.List;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -43,16 +42,32 @@ public final class OrderBy extends Clause {
 
   @Override
   Eval eval(final Eval sub) {
+    return eval(sub, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns an evaluator that yields no more than the specified number of tuples.
+   * If the limit is smaller than the number of incoming tuples, only the smallest tuples will
+   * be kept in a bounded heap.
+   * @param sub wrapped evaluator
+   * @param limit maximum number of tuples
+   * @return evaluator
+   */
+  Eval eval(final Eval sub, final long limit) {
     return new Eval() {
       private Value[][] tpls;
-      private Integer[] perm;
+      private int[] perm;
       int pos;
 
       @Override
       public boolean next(final QueryContext qc) throws QueryException {
-        if(tpls == null) sort(qc);
+        if(tpls == null) {
+          if(limit < Integer.MAX_VALUE) topK(qc);
+          else sort(qc);
+        }
         if(pos == tpls.length) return false;
-        final int p = perm[pos++];
+        final int p = perm == null ? pos : perm[pos];
+        pos++;
         final Value[] tuple = tpls[p];
         // free the space occupied by the tuple
         tpls[p] = null;
@@ -67,61 +82,165 @@ public final class OrderBy extends Clause {
        * @throws QueryException evaluation exception
        */
       private void sort(final QueryContext qc) throws QueryException {
-        // keys are stored at odd positions, values at even ones
-        List<Value[]> tuples = new ArrayList<>();
+        final ArrayList<Item[]> keyList = new ArrayList<>();
+        final ArrayList<Value[]> tupleList = new ArrayList<>();
         while(sub.next(qc)) {
-          final int kl = keys.length;
-          final Item[] key = new Item[kl];
-          for(int k = 0; k < kl; k++) key[k] = keys[k].expr.atomItem(qc, keys[k].info);
-          tuples.add(key);
-
-          final int rl = refs.length;
-          final Value[] vals = new Value[rl];
-          for(int r = 0; r < rl; r++) vals[r] = refs[r].value(qc);
-          tuples.add(vals);
+          keyList.add(keys(qc, 0));
+          tupleList.add(tuple(qc));
+        }
+
+        final Item[][] ks = keyList.toArray(new Item[0][]);
+        keyList.clear();
+        tpls = tupleList.toArray(new Value[0][]);
+        tupleList.clear();
+        perm = new Sorter() {
+          @Override
+          protected int compare(final int x, final int y) throws QueryException {
+            return diff(ks[x], ks[y]);
+          }
+        }.sort(ks.length);
+      }
+
+      /**
+       * Caches the smallest incoming tuples in a bounded heap and returns them in sorted order.
+       * The position of each tuple is appended to the keys to ensure a stable order.
+       * @param qc query context
+       * @throws QueryException evaluation exception
+       */
+      private void topK(final QueryContext qc) throws QueryException {
+        final int kl = keys.length;
+        // heap: the largest of the cached tuples is stored at the root
+        final ArrayList<Item[]> keyList = new ArrayList<>();
+        final ArrayList<Value[]> tupleList = new ArrayList<>();
+        for(long c = 0; sub.next(qc); c++) {
+          final Item[] key = keys(qc, 1);
+          key[kl] = Int.get(c);
+          final int size = keyList.size();
+          if(size < limit) {
+            keyList.add(key);
+            tupleList.add(tuple(qc));
+            up(keyList, tupleList, size);
+          } else if(size != 0 && compare(key, keyList.get(0)) < 0) {
+            keyList.set(0, key);
+            tupleList.set(0, tuple(qc));
+            down(keyList, tupleList);
+          }
         }
 
-        final int len = tuples.size() >>> 1;
-        final Item[][] ks = new Item[len][];
-        perm = new Integer[len];
-        tpls = new Value[len][];
-        for(int i = 0; i < len; i++) {
-          perm[i] = i;
-          tpls[i] = tuples.get(i << 1 | 1);
-          ks[i] = (Item[]) tuples.get(i << 1);
+        final Item[][] ks = keyList.toArray(new Item[0][]);
+        keyList.clear();
+        tpls = tupleList.toArray(new Value[0][]);
+        tupleList.clear();
+        perm = new Sorter() {
+          @Override
+          protected int compare(final int x, final int y) throws QueryException {
+            return OrderBy.this.compare(ks[x], ks[y]);
+          }
+        }.sort(ks.length);
+      }
+
+      /**
+       * Moves a heap entry up until its parent is not smaller.
+       * @param ks keys
+       * @param ts tuples
+       * @param index index of the entry
+       * @throws QueryException evaluation exception
+       */
+      private void up(final ArrayList<Item[]> ks, final ArrayList<Value[]> ts, final int index)
+          throws QueryException {
+        for(int i = index; i > 0;) {
+          final int p = i - 1 >>> 1;
+          if(compare(ks.get(p), ks.get(i)) >= 0) break;
+          Collections.swap(ks, i, p);
+          Collections.swap(ts, i, p);
+          i = p;
         }
-        // be nice to the garbage collector
-        tuples = null;
-        try {
-          Arrays.sort(perm, (x, y) -> {
-            try {
-              final Item[] a = ks[x], b = ks[y];
-              final int kl = keys.length;
-              for(int k = 0; k < kl; k++) {
-                final OrderKey key = keys[k];
-                Item m = a[k], n = b[k];
-                if(m == Dbl.NAN || m == Flt.NAN) m = Empty.VALUE;
-                if(n == Dbl.NAN || n == Flt.NAN) n = Empty.VALUE;
-                if(m != Empty.VALUE && n != Empty.VALUE && !m.comparable(n))
-                  throw typeError(n, m.type, key.info);
-
-                final int c = m == Empty.VALUE
-                    ? n == Empty.VALUE ? 0                 : key.least ? -1 : 1
-                    : n == Empty.VALUE ? key.least ? 1 : -1 : m.diff(n, key.coll, key.info);
-                if(c != 0) return key.desc ? -c : c;
-              }
-              return 0;
-            } catch(final QueryException ex) {
-              throw new QueryRTException(ex);
-            }
-          });
-        } catch(final QueryRTException ex) {
-          throw ex.getCause();
+      }
+
+      /**
+       * Moves the root entry of the heap down until its children are not larger.
+       * @param ks keys
+       * @param ts tuples
+       * @throws QueryException evaluation exception
+       */
+      private void down(final ArrayList<Item[]> ks, final ArrayList<Value[]> ts)
+          throws QueryException {
+        final int size = ks.size();
+        for(int i = 0, c; (c = (i << 1) + 1) < size; i = c) {
+          if(c + 1 < size && compare(ks.get(c + 1), ks.get(c)) > 0) c++;
+          if(compare(ks.get(i), ks.get(c)) >= 0) break;
+          Collections.swap(ks, i, c);
+          Collections.swap(ts, i, c);
         }
       }
+
+      /**
+       * Evaluates the sort keys of the current tuple.
+       * @param qc query context
+       * @param extra number of additional entries
+       * @return keys
+       * @throws QueryException evaluation exception
+       */
+      private Item[] keys(final QueryContext qc, final int extra) throws QueryException {
+        final int kl = keys.length;
+        final Item[] key = new Item[kl + extra];
+        for(int k = 0; k < kl; k++) key[k] = keys[k].expr.atomItem(qc, keys[k].info);
+        return key;
+      }
+
+      /**
+       * Returns the values of the current tuple.
+       * @param qc query context
+       * @return values
+       * @throws QueryException evaluation exception
+       */
+      private Value[] tuple(final QueryContext qc) throws QueryException {
+        final int rl = refs.length;
+        final Value[] vals = new Value[rl];
+        for(int r = 0; r < rl; r++) vals[r] = refs[r].value(qc);
+        return vals;
+      }
     };
   }
 
+  /**
+   * Compares the keys of two tuples. If the keys are equal, the appended input positions
+   * are compared.
+   * @param a keys and position of the first tuple
+   * @param b keys and position of the second tuple
+   * @return result of comparison
+   * @throws QueryException query exception
+   */
+  private int compare(final Item[] a, final Item[] b) throws QueryException {
+    final int c = diff(a, b), kl = keys.length;
+    return c != 0 ? c : Long.compare(((Int) a[kl]).itr(), ((Int) b[kl]).itr());
+  }
+
+  /**
+   * Compares the keys of two tuples.
+   * @param a keys of the first tuple
+   * @param b keys of the second tuple
+   * @return result of comparison
+   * @throws QueryException query exception
+   */
+  private int diff(final Item[] a, final Item[] b) throws QueryException {
+    final int kl = keys.length;
+    for(int k = 0; k < kl; k++) {
+      final OrderKey key = keys[k];
+      Item m = a[k], n = b[k];
+      if(m == Dbl.NAN || m == Flt.NAN) m = Empty.VALUE;
+      if(n == Dbl.NAN || n == Flt.NAN) n = Empty.VALUE;
+      if(m != Empty.VALUE && n != Empty.VALUE && !m.comparable(n))
+        throw typeError(n, m.type, key.info);
+
+      final int c = m == Empty.VALUE
+          ? n == Empty.VALUE ? 0                 : key.least ? -1 : 1
+          : n == Empty.VALUE ? key.least ? 1 : -1 : m.diff(n, key.coll, key.info);
+      if(c != 0) return key.desc ? -c : c;
+    }
+    return 0;
+  }
+
   @Override
   public boolean has(final Flag... flags) {
     for(final OrderKey key : keys) {
@@ -43,6 +43,11 @@ public final class CachedPath extends AxisPath {
     final Value rt = root != null ? root.value(qc) : qf.value;
     qc.focus = focus;
     try {
+      // evaluate child and descendant steps on database nodes in a single pass
+      if(rt != null && !qc.scoring && StructuralJoin.supports(steps)) {
+        final Value value = StructuralJoin.nodes(steps, rt, qc, this);
+        if(value != null) return value;
+      }
       if(rt != null) {
         final Iter iter = rt.iter(qc);
         for(Item item; (item = iter.next()) != null;) {
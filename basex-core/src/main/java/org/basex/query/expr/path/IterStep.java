@@ -1,10 +1,16 @@
 
 package org.basex.query.expr.path;
 
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.index.path.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.iter.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
@@ -34,7 +40,7 @@ public final class IterStep extends Step {
 
       @Override
       public ANode next() throws QueryException {
-        if(iter == null) iter = axis.iter(checkNode(qc));
+        if(iter == null) iter = iter(checkNode(qc), qc);
         for(ANode node; (node = iter.next()) != null;) {
           qc.checkStop();
           if(test.matches(node) && match(node, qc)) return node.finish();
@@ -44,6 +50,49 @@ public final class IterStep extends Step {
     };
   }
 
+  /**
+   * Checks if the specified node matches the test and the predicates of this step.
+   * @param node node
+   * @param qc query context
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  boolean matches(final ANode node, final QueryContext qc) throws QueryException {
+    return test.matches(node) && (exprs.length == 0 || match(node, qc));
+  }
+
+  /**
+   * Returns an iterator for the nodes of the axis. If elements with a specific name are
+   * requested from the descendant axis of a database node, subtrees that do not contain
+   * elements with this name will be skipped. If the name index is enabled, the elements
+   * will directly be looked up.
+   * @param node input node
+   * @param qc query context
+   * @return iterator
+   */
+  private BasicNodeIter iter(final ANode node, final QueryContext qc) {
+    final boolean self = axis == Axis.DESCENDANT_OR_SELF;
+    if((self || axis == Axis.DESCENDANT) && node instanceof DBNode &&
+        test instanceof NameTest && test.type == NodeType.ELM &&
+        ((NameTest) test).part != NamePart.URI) {
+      final DBNode dbnode = (DBNode) node;
+      final Data data = dbnode.data();
+      if(data.meta.uptodate) {
+        final byte[] local = ((NameTest) test).local;
+        if(qc.context.options.get(MainOptions.NAMEINDEX))
+          return dbnode.descendantIter(self, data.elemNames.pres(local, data, Data.ELEM));
+        final PathNode path = data.paths.node(dbnode.pre());
+        if(path != null) {
+          final HashMap<PathNode, Boolean> nodes = data.paths.ancestors(local);
+          final Boolean partial = nodes.get(path);
+          if(partial == null) return BasicNodeIter.EMPTY;
+          if(partial) return dbnode.descendantIter(self, path, nodes);
+        }
+      }
+    }
+    return axis.iter(node);
+  }
+
   @Override
   public IterStep copy(final CompileContext cc, final IntObjMap<Var> vm) {
     return copyType(new IterStep(info, axis, test.copy(), Arr.copyAll(cc, vm, exprs)));
@@ -0,0 +1,200 @@
+package org.basex.query.expr.path;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.list.*;
+
+/**
+ * Structural join for paths with child and descendant steps.
+ *
+ * The candidates of each step are the sorted pre values of all elements with the requested
+ * local name, which are retrieved from the element name postings (see
+ * {@link org.basex.index.name.Names#pres}). The candidates of all steps are merged in document
+ * order. For each step, a stack with the matching ancestors of the current node is maintained,
+ * and a candidate matches if the axis relationship to one of these ancestors is satisfied.
+ * Candidates are only visited if the stack of the previous step is not empty, and candidates
+ * outside the subtrees of the input nodes are skipped. Results are returned in document order
+ * and without duplicates, and no intermediate node lists need to be built and sorted.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+final class StructuralJoin {
+  /** Private constructor. */
+  private StructuralJoin() { }
+
+  /**
+   * Checks if the specified steps can be evaluated via a structural join.
+   * All steps must select elements by their local name, and at least one descendant step
+   * must be specified (otherwise, the paths can be evaluated by traversing child nodes).
+   * @param steps path steps
+   * @return result of check
+   */
+  static boolean supports(final Expr[] steps) {
+    if(steps.length < 2) return false;
+    boolean desc = false;
+    for(final Expr expr : steps) {
+      // positional predicates depend on the nodes returned by the axis
+      if(!(expr instanceof IterStep)) return false;
+      final Step step = (Step) expr;
+      final Axis axis = step.axis;
+      if(axis != Axis.CHILD && axis != Axis.DESCENDANT && axis != Axis.DESCENDANT_OR_SELF ||
+          step.positional()) return false;
+      if(!(step.test instanceof NameTest) || step.test.type != NodeType.ELM ||
+          ((NameTest) step.test).part == NamePart.URI) return false;
+      desc |= axis != Axis.CHILD;
+    }
+    return desc;
+  }
+
+  /**
+   * Evaluates the steps for the specified input nodes.
+   * @param steps path steps (see {@link #supports(Expr[])})
+   * @param input input nodes
+   * @param qc query context
+   * @param expr calling expression
+   * @return resulting nodes, or {@code null} if the input is no ordered sequence of
+   *   database nodes of a single, up-to-date database, or if the name index is disabled
+   * @throws QueryException query exception
+   */
+  static Value nodes(final Expr[] steps, final Value input, final QueryContext qc,
+      final Expr expr) throws QueryException {
+
+    // name postings are only available if they have been enabled
+    if(!qc.context.options.get(MainOptions.NAMEINDEX)) return null;
+
+    // collect pre values of input nodes
+    final long is = input.size();
+    if(is == 0 || is > Integer.MAX_VALUE) return null;
+    final IntList roots = new IntList((int) is);
+    Data data = null;
+    for(final Item item : input) {
+      if(!(item instanceof DBNode) || item.type == NodeType.ATT) return null;
+      final DBNode node = (DBNode) item;
+      if(data == null) data = node.data();
+      else if(data != node.data()) return null;
+      final int pre = node.pre();
+      if(!roots.isEmpty() && pre <= roots.peek()) return null;
+      roots.add(pre);
+    }
+    if(!data.meta.uptodate) return null;
+
+    // candidates: input nodes, pre values of the elements with the names of the steps
+    final int sl = steps.length + 1;
+    final int[][] cands = new int[sl][];
+    cands[0] = roots.finish();
+    for(int s = 1; s < sl; s++) {
+      final byte[] local = ((NameTest) ((Step) steps[s - 1]).test).local;
+      cands[s] = data.elemNames.pres(local, data, Data.ELEM);
+      if(cands[s].length == 0) return Empty.VALUE;
+    }
+
+    // stacks with the ancestors of the current node: input nodes, nodes matching a step
+    final IntList[] pres = new IntList[sl], ends = new IntList[sl];
+    for(int s = 0; s < sl; s++) {
+      pres[s] = new IntList();
+      ends[s] = new IntList();
+    }
+    // offsets of the next candidates
+    final int[] offs = new int[sl];
+    final IntList result = new IntList();
+
+    while(true) {
+      // choose next candidate in document order (only if the stack of the previous step is
+      // not empty); if the pre values are identical, the earlier step is chosen first
+      int step = -1, pre = Integer.MAX_VALUE;
+      for(int s = 0; s < sl; s++) {
+        if(s > 0 && pres[s - 1].isEmpty()) continue;
+        final int[] cand = cands[s];
+        if(offs[s] < cand.length && cand[offs[s]] < pre) {
+          pre = cand[offs[s]];
+          step = s;
+        }
+      }
+      if(step == -1) break;
+      offs[step]++;
+      qc.checkStop();
+
+      // remove ancestors whose subtrees have been scanned
+      for(int s = 0; s < sl; s++) {
+        final IntList p = pres[s], e = ends[s];
+        while(!e.isEmpty() && e.peek() <= pre) {
+          p.pop();
+          e.pop();
+        }
+      }
+
+      final int kind = data.kind(pre);
+      boolean push = step == 0;
+      if(!push) {
+        final IterStep st = (IterStep) steps[step - 1];
+        if(matches(st.axis, pres[step - 1], pre, kind, data) &&
+            st.matches(new DBNode(data, pre, kind), qc)) {
+          if(step + 1 == sl) result.add(pre);
+          else push = true;
+        }
+      }
+      if(push) {
+        pres[step].push(pre);
+        ends[step].push(pre + data.size(pre, kind));
+        // skip candidates of the next step that precede the current node
+        final int n = step + 1;
+        offs[n] = skip(cands[n], offs[n], pre);
+      }
+    }
+    return DBNodeSeq.get(result.finish(), data, expr);
+  }
+
+  /**
+   * Returns the offset of the first candidate that is equal to or greater than the
+   * specified pre value. The offset is determined via exponential and binary search.
+   * @param cand sorted candidates
+   * @param off current offset
+   * @param pre pre value
+   * @return new offset
+   */
+  private static int skip(final int[] cand, final int off, final int pre) {
+    final int cl = cand.length;
+    if(off == cl || cand[off] >= pre) return off;
+    int lo = off, step = 1;
+    while(lo + step < cl && cand[lo + step] < pre) {
+      lo += step;
+      step <<= 1;
+    }
+    // binary search: cand[lo] < pre, and cand[hi] >= pre (or hi == cl)
+    int hi = Math.min(lo + step, cl);
+    while(hi - lo > 1) {
+      final int m = lo + hi >>> 1;
+      if(cand[m] < pre) lo = m;
+      else hi = m;
+    }
+    return hi;
+  }
+
+  /**
+   * Checks if the structural relationship between the specified node and its ancestors
+   * that have been matched by the previous step is satisfied.
+   * @param axis axis of the current step
+   * @param ancestors pre values of the matched ancestors-or-self
+   * @param pre pre value of the current node
+   * @param kind kind of the current node
+   * @param data data reference
+   * @return result of check
+   */
+  private static boolean matches(final Axis axis, final IntList ancestors, final int pre,
+      final int kind, final Data data) {
+    int size = ancestors.size();
+    if(size > 0 && ancestors.get(size - 1) == pre) {
+      if(axis == Axis.DESCENDANT_OR_SELF) return true;
+      size--;
+    }
+    return size > 0 && (axis != Axis.CHILD || ancestors.get(size - 1) == data.parent(pre, kind));
+  }
+}
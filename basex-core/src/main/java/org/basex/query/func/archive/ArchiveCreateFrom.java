@@ -50,7 +50,7 @@ public class ArchiveCreateFrom extends ArchiveCreate {
     final String format = opts.get(CreateOptions.FORMAT);
     final String dir = rootDir && root.parent() != null ? root.name() + '/' : "";
 
-    try(ArchiveOut out = ArchiveOut.get(format.toLowerCase(Locale.ENGLISH), info)) {
+    try(ArchiveOut out = ArchiveOut.get(format.toLowerCase(Locale.ENGLISH), qc, info)) {
       out.level(level);
       try {
         while(true) {
@@ -32,7 +32,7 @@ public final class ArchiveDelete extends ArchiveFn {
     }
 
     try(ArchiveIn in = ArchiveIn.get(archive.input(info), info);
-        ArchiveOut out = ArchiveOut.get(in.format(), info)) {
+        ArchiveOut out = ArchiveOut.get(in.format(), qc, info)) {
       if(in instanceof GZIPIn)
         throw ARCHIVE_MODIFY_X.get(info, in.format().toUpperCase(Locale.ENGLISH));
       while(in.more()) {
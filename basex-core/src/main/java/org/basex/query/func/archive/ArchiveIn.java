@@ -56,12 +56,11 @@ abstract class ArchiveIn implements Closeable {
   public abstract String format();
 
   /**
-   * Reads data from the archive.
-   * @param d data buffer
-   * @return number of read bytes
-   * @throws IOException I/O exception
+   * Returns an input stream for the data of the current entry.
+   * The stream must not be closed.
+   * @return input stream
    */
-  public abstract int read(byte[] d) throws IOException;
+  public abstract InputStream input();
 
   /**
    * Writes the next entry to the specified output stream.
@@ -69,8 +68,9 @@ abstract class ArchiveIn implements Closeable {
    * @throws IOException I/O exception
    */
   final void write(final OutputStream out) throws IOException {
+    final InputStream in = input();
     final byte[] data = new byte[IO.BLOCKSIZE];
-    for(int c; (c = read(data)) != -1;) out.write(data, 0, c);
+    for(int c; (c = in.read(data)) != -1;) out.write(data, 0, c);
   }
 
   @Override
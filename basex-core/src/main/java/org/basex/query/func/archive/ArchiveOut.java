@@ -26,13 +26,15 @@ abstract class ArchiveOut implements Closeable {
   /**
    * Returns a new instance of an archive writer.
    * @param format archive format
+   * @param qc query context
    * @param ii input info
    * @return writer
    * @throws QueryException query exception
    */
-  static ArchiveOut get(final String format, final InputInfo ii) throws QueryException {
+  static ArchiveOut get(final String format, final QueryContext qc, final InputInfo ii)
+      throws QueryException {
     try {
-      if(format.equals(ZIP)) return new ZIPOut();
+      if(format.equals(ZIP)) return new ZIPOut(qc.forkPool());
       if(format.equals(GZIP)) return new GZIPOut();
     } catch(final IOException ex) {
       throw ARCHIVE_ERROR_X.get(ii, ex);
@@ -45,7 +45,7 @@ public final class ArchiveUpdate extends ArchiveCreate {
     if(e != c) throw ARCHIVE_NUMBER_X_X.get(info, e, c);
 
     try(ArchiveIn in = ArchiveIn.get(archive.input(info), info);
-        ArchiveOut out = ArchiveOut.get(in.format(), info)) {
+        ArchiveOut out = ArchiveOut.get(in.format(), qc, info)) {
       if(in instanceof GZIPIn)
         throw ARCHIVE_MODIFY_X.get(info, in.format().toUpperCase(Locale.ENGLISH));
       // delete entries to be updated
@@ -40,8 +40,8 @@ final class GZIPIn extends ArchiveIn {
   }
 
   @Override
-  public int read(final byte[] d) throws IOException {
-    return zis.read(d);
+  public InputStream input() {
+    return zis;
   }
 
   @Override
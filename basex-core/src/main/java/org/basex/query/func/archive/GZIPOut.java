@@ -30,7 +30,8 @@ final class GZIPOut extends ArchiveOut {
 
   @Override
   public void write(final ArchiveIn in) throws IOException {
-    for(int c; (c = in.read(data)) != -1;) zos.write(data, 0, c);
+    final InputStream is = in.input();
+    for(int c; (c = is.read(data)) != -1;) zos.write(data, 0, c);
   }
 
   @Override
@@ -38,8 +38,8 @@ final class ZIPIn extends ArchiveIn {
   }
 
   @Override
-  public int read(final byte[] d) throws IOException {
-    return zis.read(d);
+  public InputStream input() {
+    return zis;
   }
 
   @Override
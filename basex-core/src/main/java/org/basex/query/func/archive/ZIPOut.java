@@ -1,48 +1,45 @@
 package org.basex.query.func.archive;
 
 import java.io.*;
+import java.util.concurrent.*;
 import java.util.zip.*;
 
+import org.basex.io.out.*;
 import org.basex.util.*;
 
 /**
- * ZIP output.
+ * ZIP output. Entries are compressed in parallel.
  *
  * @author BaseX Team 2005-19, BSD License
  * @author Christian Gruen
  */
 final class ZIPOut extends ArchiveOut {
-  /** ZIP output stream. */
-  private final ZipOutputStream zos;
+  /** ZIP output. */
+  private final ZipOutput zos;
 
   /**
    * Writing constructor.
+   * @param pool thread pool for compressing entries
    */
-  ZIPOut() {
-    zos = new ZipOutputStream(ao);
+  ZIPOut(final ForkJoinPool pool) {
+    zos = new ZipOutput(ao, pool);
   }
 
   @Override
   public void level(final int l) {
-    zos.setLevel(l);
+    zos.level(l);
   }
 
   @Override
   public void write(final ArchiveIn in) throws IOException {
+    // entries are streamed: only the chunks that are being compressed are kept in memory
     final ZipEntry zi = in.entry();
-    final ZipEntry zo = new ZipEntry(zi.getName());
-    zo.setTime(zi.getTime());
-    zo.setComment(zi.getComment());
-    zos.putNextEntry(zo);
-    for(int c; (c = in.read(data)) != -1;) zos.write(data, 0, c);
-    zos.closeEntry();
+    zos.add(zi.getName(), zi.getTime(), zi.getComment(), in.input());
   }
 
   @Override
   public void write(final ZipEntry entry, final byte[] value) throws IOException {
-    zos.putNextEntry(entry);
-    zos.write(value);
-    zos.closeEntry();
+    zos.add(entry.getName(), entry.getTime(), entry.getComment(), value);
   }
 
   @Override
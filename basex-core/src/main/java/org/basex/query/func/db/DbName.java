@@ -1,5 +1,7 @@
 package org.basex.query.func.db;
 
+import org.basex.data.*;
+import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -13,6 +15,8 @@ import org.basex.util.*;
 public final class DbName extends DbAccess {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    return Str.get(toDBNode(toNode(exprs[0], qc)).data().meta.name);
+    final MetaData meta = toDBNode(toNode(exprs[0], qc)).data().meta;
+    // temporary instance: return name of main-memory database
+    return Str.get(meta.temp ? IO.get(meta.original).dbName() : meta.name);
   }
 }
@@ -2,6 +2,7 @@ package org.basex.query.func.fn;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.gflwor.*;
 import org.basex.query.func.*;
 import org.basex.query.func.file.*;
 import org.basex.query.value.*;
@@ -19,7 +20,8 @@ import org.basex.util.*;
 public final class FnHead extends StandardFunc {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final Item item = exprs[0].iter(qc).next();
+    final Expr expr = exprs[0];
+    final Item item = (expr instanceof GFLWOR ? ((GFLWOR) expr).iter(qc, 1) : expr.iter(qc)).next();
     return item == null ? Empty.VALUE : item;
   }
 
@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
+import org.basex.query.util.regex.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -18,7 +19,13 @@ public final class FnMatches extends RegEx {
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final byte[] value = toEmptyToken(exprs[0], qc);
-    final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
+    final byte[] regex = toToken(exprs[1], qc);
+    final byte[] modifier = modifier(exprs.length == 3 ? exprs[2] : null, qc);
+
+    final TokenPattern tp = tokenPattern(regex, modifier, 2);
+    if(tp != null) return Bln.get(tp.find(value));
+
+    final Pattern pattern = pattern(regex, modifier, false);
     return Bln.get(pattern.matcher(string(value)).find());
   }
 }
@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
+import org.basex.query.util.regex.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -19,8 +20,17 @@ public final class FnReplace extends RegEx {
   @Override
   public Str item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final byte[] value1 = toEmptyToken(exprs[0], qc);
-    final Pattern pattern = pattern(exprs[1], exprs.length == 4 ? exprs[3] : null, qc, true);
+    final byte[] regex = toToken(exprs[1], qc);
+    final byte[] modifier = modifier(exprs.length == 4 ? exprs[3] : null, qc);
     final byte[] value2 = toToken(exprs[2], qc);
+
+    final TokenPattern tp = tokenPattern(regex, modifier, 3);
+    if(tp != null) {
+      final byte[] result = tp.replace(value1, value2);
+      if(result != null) return Str.get(result);
+    }
+
+    final Pattern pattern = pattern(regex, modifier, true);
     String replace = string(value2);
     if((pattern.flags() & Pattern.LITERAL) == 0) {
       // standard parsing: raise errors for some special cases
@@ -2,12 +2,11 @@ package org.basex.query.func.fn;
 
 import static org.basex.query.QueryError.*;
 
-import java.util.*;
-
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
+import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
@@ -56,7 +55,7 @@ public final class FnSort extends StandardFunc {
       values.add((key == null ? item : key.invokeValue(qc, info, item)).atomValue(qc, info));
     }
 
-    final Integer[] order = sort(values, this, coll, qc);
+    final int[] order = sort(values, this, coll, qc);
     return new BasicIter<Item>(size) {
       @Override
       public Item get(final long i) {
@@ -74,38 +73,29 @@ public final class FnSort extends StandardFunc {
    * @return item order
    * @throws QueryException query exception
    */
-  public static Integer[] sort(final ValueList values, final StandardFunc sf, final Collation coll,
+  public static int[] sort(final ValueList values, final StandardFunc sf, final Collation coll,
       final QueryContext qc) throws QueryException {
 
-    final int al = values.size();
-    final Integer[] order = new Integer[al];
-    for(int o = 0; o < al; o++) order[o] = o;
-    try {
-      Arrays.sort(order, (i1, i2) -> {
+    return new Sorter() {
+      @Override
+      protected int compare(final int i1, final int i2) throws QueryException {
         qc.checkStop();
-        try {
-          final Value value1 = values.get(i1), value2 = values.get(i2);
-          final long size1 = value1.size(), size2 = value2.size(), il = Math.min(size1, size2);
-          for(int i = 0; i < il; i++) {
-            Item item1 = value1.itemAt(i), item2 = value2.itemAt(i);
-            if(item1 == Dbl.NAN || item1 == Flt.NAN) item1 = null;
-            if(item2 == Dbl.NAN || item2 == Flt.NAN) item2 = null;
-            if(item1 != null && item2 != null && !item1.comparable(item2))
-              throw diffError(item1, item2, sf.info);
+        final Value value1 = values.get(i1), value2 = values.get(i2);
+        final long size1 = value1.size(), size2 = value2.size(), il = Math.min(size1, size2);
+        for(int i = 0; i < il; i++) {
+          Item item1 = value1.itemAt(i), item2 = value2.itemAt(i);
+          if(item1 == Dbl.NAN || item1 == Flt.NAN) item1 = null;
+          if(item2 == Dbl.NAN || item2 == Flt.NAN) item2 = null;
+          if(item1 != null && item2 != null && !item1.comparable(item2))
+            throw diffError(item1, item2, sf.info);
 
-            final int diff = item1 == null ? item2 == null ? 0 : -1 : item2 == null ? 1 :
-              item1.diff(item2, coll, sf.info);
-            if(diff != 0 && diff != Item.UNDEF) return diff;
-          }
-          return (int) (size1 - size2);
-        } catch(final QueryException ex) {
-          throw new QueryRTException(ex);
+          final int diff = item1 == null ? item2 == null ? 0 : -1 : item2 == null ? 1 :
+            item1.diff(item2, coll, sf.info);
+          if(diff != 0 && diff != Item.UNDEF) return diff;
         }
-      });
-    } catch(final QueryRTException ex) {
-      throw ex.getCause();
-    }
-    return order;
+        return (int) (size1 - size2);
+      }
+    }.sort(values.size());
   }
 
   @Override
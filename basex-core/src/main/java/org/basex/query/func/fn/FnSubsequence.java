@@ -2,6 +2,7 @@ package org.basex.query.func.fn;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.gflwor.*;
 import org.basex.query.func.*;
 import org.basex.query.func.file.*;
 import org.basex.query.iter.*;
@@ -30,8 +31,8 @@ public class FnSubsequence extends StandardFunc {
     if(sr == EMPTY) return Empty.ITER;
 
     // return iterator if all results are returned, of it iterator yields no items
-    final Iter iter = exprs[0].iter(qc);
-    if(sr == ALL) return iter;
+    if(sr == ALL) return exprs[0].iter(qc);
+    final Iter iter = iter(sr.end, qc);
 
     // return subsequence iterator if iterator is value-based
     final long size = sr.adjust(iter.size());
@@ -82,7 +83,7 @@ public class FnSubsequence extends StandardFunc {
 
     final Expr expr = exprs[0];
     if(sr == ALL) return expr.value(qc);
-    final Iter iter = expr.iter(qc);
+    final Iter iter = iter(sr.end, qc);
 
     final long size = sr.adjust(iter.size());
     if(sr.length == 0) return Empty.VALUE;
@@ -109,6 +110,18 @@ public class FnSubsequence extends StandardFunc {
     return vb.value(this);
   }
 
+  /**
+   * Returns an iterator for the input sequence.
+   * @param end number of items that will be requested
+   * @param qc query context
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  private Iter iter(final long end, final QueryContext qc) throws QueryException {
+    final Expr expr = exprs[0];
+    return expr instanceof GFLWOR ? ((GFLWOR) expr).iter(qc, end) : expr.iter(qc);
+  }
+
   /**
    * Returns the start position and length of the requested sub sequence.
    * @param cc compilation context
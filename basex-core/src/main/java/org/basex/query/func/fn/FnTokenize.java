@@ -6,6 +6,7 @@ import java.util.regex.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.util.regex.*;
 import org.basex.query.value.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.list.*;
@@ -22,8 +23,13 @@ public final class FnTokenize extends RegEx {
     final byte[] value = toEmptyToken(exprs[0], qc);
     if(exprs.length < 2) return StrSeq.get(split(normalize(value), ' '));
 
-    final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, true);
+    final byte[] regex = toToken(exprs[1], qc);
+    final byte[] modifier = modifier(exprs.length == 3 ? exprs[2] : null, qc);
 
+    final TokenPattern tp = tokenPattern(regex, modifier, 2);
+    if(tp != null) return value.length == 0 ? Empty.VALUE : StrSeq.get(tp.split(value));
+
+    final Pattern pattern = pattern(regex, modifier, true);
     final TokenList tl = new TokenList();
     final String string = string(value);
     if(!string.isEmpty()) {
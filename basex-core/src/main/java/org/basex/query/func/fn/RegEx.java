@@ -1,13 +1,15 @@
 package org.basex.query.func.fn;
 
+import java.util.concurrent.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
+import org.basex.query.util.regex.*;
 import org.basex.query.util.regex.parse.*;
+import org.basex.query.value.*;
 import org.basex.util.Token;
-import org.basex.util.hash.*;
 
 /**
  * Regular expression functions.
@@ -16,8 +18,32 @@ import org.basex.util.hash.*;
  * @author Christian Gruen
  */
 abstract class RegEx extends StandardFunc {
-  /** Pattern cache. */
-  private final TokenObjMap<Pattern> patterns = new TokenObjMap<>();
+  /** Maximum number of cached patterns. */
+  private static final int MAX = 1 << 10;
+  /** Pattern cache, shared by all queries (keys: regex, modifiers, check flag). */
+  private static final ConcurrentHashMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+  /** Token pattern for constant arguments (lazy instantiation; single entry can be null). */
+  private volatile TokenPattern[] tokenPattern;
+
+  /**
+   * Returns a token pattern for simple regular expressions.
+   * If the arguments are constant, the pattern will only be parsed once.
+   * @param regex pattern
+   * @param mod modifiers
+   * @param m index of the modifier argument
+   * @return pattern, or {@code null} if the regular expression is not simple
+   */
+  protected TokenPattern tokenPattern(final byte[] regex, final byte[] mod, final int m) {
+    final TokenPattern[] cached = tokenPattern;
+    if(cached != null) return cached[0];
+
+    final TokenPattern tp = TokenPattern.get(regex, mod);
+    if(exprs[1] instanceof Value && (m >= exprs.length || exprs[m] instanceof Value)) {
+      tokenPattern = new TokenPattern[] { tp };
+    }
+    return tp;
+  }
 
   /**
    * Returns a regular expression pattern.
@@ -30,19 +56,40 @@ abstract class RegEx extends StandardFunc {
    */
   protected Pattern pattern(final Expr regex, final Expr modifier, final QueryContext qc,
       final boolean check) throws QueryException {
+    return pattern(toToken(regex, qc), modifier(modifier, qc), check);
+  }
 
-    final byte[] pat = toToken(regex, qc);
-    final byte[] mod = modifier != null ? toToken(modifier, qc) : Token.EMPTY;
-    final byte[] key = Token.concat(pat, '\b', mod);
-
-    Pattern pattern;
-    synchronized(patterns) {
-      pattern = patterns.get(key);
-      if(pattern == null) {
-        pattern = RegExParser.parse(pat, mod, info, check);
-        patterns.put(key, pattern);
-      }
+  /**
+   * Returns a regular expression pattern.
+   * @param pat pattern
+   * @param mod modifiers
+   * @param check check result for empty strings
+   * @return pattern modifier
+   * @throws QueryException query exception
+   */
+  protected Pattern pattern(final byte[] pat, final byte[] mod, final boolean check)
+      throws QueryException {
+
+    final String key = Token.string(Token.concat(pat, '\b', mod, check ? "\b!" : ""));
+
+    Pattern pattern = PATTERNS.get(key);
+    if(pattern == null) {
+      pattern = RegExParser.parse(pat, mod, info, check);
+      // discard all patterns if the maximum size is exceeded
+      if(PATTERNS.size() >= MAX) PATTERNS.clear();
+      PATTERNS.put(key, pattern);
     }
     return pattern;
   }
+
+  /**
+   * Returns the modifiers of a regular expression.
+   * @param modifier modifier expression (can be {@code null})
+   * @param qc query context
+   * @return modifiers
+   * @throws QueryException query exception
+   */
+  protected byte[] modifier(final Expr modifier, final QueryContext qc) throws QueryException {
+    return modifier != null ? toToken(modifier, qc) : Token.EMPTY;
+  }
 }
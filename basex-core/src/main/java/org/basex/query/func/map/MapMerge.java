@@ -30,8 +30,18 @@ public final class MapMerge extends StandardFunc {
     final Iter maps = exprs[0].iter(qc);
     final MergeDuplicates merge = options(qc).get(MergeOptions.DUPLICATES);
     XQMap map = XQMap.EMPTY;
-    for(Item item; (item = qc.next(maps)) != null;) map = map.addAll(toMap(item), merge, qc, info);
-    return map;
+    MapBuilder mb = null;
+    long added = 0;
+    for(Item item; (item = qc.next(maps)) != null;) {
+      final XQMap m = toMap(item);
+      // add entries to the persistent map as long as it is larger than the added entries
+      if(mb == null && map != XQMap.EMPTY && (added += m.mapSize()) >= map.mapSize()) {
+        mb = new MapBuilder().add(map, merge, qc, info);
+      }
+      if(mb != null) mb.add(m, merge, qc, info);
+      else map = map.addAll(m, merge, qc, info);
+    }
+    return mb != null ? mb.finish() : map;
   }
 
   @Override
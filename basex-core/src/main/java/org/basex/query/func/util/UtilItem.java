@@ -2,6 +2,7 @@ package org.basex.query.func.util;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.gflwor.*;
 import org.basex.query.func.*;
 import org.basex.query.func.file.*;
 import org.basex.query.iter.*;
@@ -29,7 +30,7 @@ public final class UtilItem extends StandardFunc {
     if(expr.seqType().zeroOrOne()) return pos == 0 ? expr.item(qc, info) : Empty.VALUE;
 
     // fast route if the size is known
-    final Iter iter = expr.iter(qc);
+    final Iter iter = expr instanceof GFLWOR ? ((GFLWOR) expr).iter(qc, pos + 1) : expr.iter(qc);
     final long size = iter.size();
     if(size >= 0) return pos < size ? iter.get(pos) : Empty.VALUE;
 
@@ -32,7 +32,8 @@ public final class XQueryForkJoin extends StandardFunc {
     // single function: invoke directly
     if(size == 1) return ((FItem) funcs).invokeValue(qc, info);
 
-    final ForkJoinPool pool = new ForkJoinPool();
+    // tasks of all queries are run by the same thread pool
+    final ForkJoinPool pool = qc.context.jobs.forkPool();
     final XQueryTask task = new XQueryTask(funcs, qc, info);
     try {
       return pool.invoke(task);
@@ -42,9 +43,6 @@ public final class XQueryForkJoin extends StandardFunc {
       if(e instanceof QueryException) throw (QueryException) e;
       if(e instanceof JobException) throw (JobException) e;
       throw XQUERY_UNEXPECTED_X.get(info, e);
-    } finally {
-      // required?
-      pool.shutdown();
     }
   }
 }
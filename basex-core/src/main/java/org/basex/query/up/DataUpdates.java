@@ -188,10 +188,11 @@ final class DataUpdates {
     /* optional: export file if...
      * - WRITEBACK option is turned on
      * - an original file path exists (and does not start with a tilde)
-     * - data is a main-memory instance
+     * - data is a main-memory instance (or a temporary instance on disk)
      */
     final String original = data.meta.original;
-    if(!(original.isEmpty() || original.startsWith("~")) && data.inMemory()) {
+    if(!(original.isEmpty() || original.startsWith("~")) &&
+        (data.inMemory() || data.meta.temp)) {
       if(writeback) {
         try {
           Export.export(data, original, qc.context.options, null);
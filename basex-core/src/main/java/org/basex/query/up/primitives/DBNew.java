@@ -145,11 +145,15 @@ public final class DBNew {
 
   /**
    * Checks if disk caching is requested or required for at least one document.
+   * Caching is required if raw files are to be stored, or if an input is too large to be parsed
+   * in main memory.
    * @param create create new database
    * @return result of check
    */
   private boolean cache(final boolean create) {
-    for(final DBOptions dbopts : dboptions) {
+    final int is = inputs.size();
+    for(int i = 0; i < is; i++) {
+      final DBOptions dbopts = dboptions.get(i);
       Object v = dbopts.get(MainOptions.ADDCACHE);
       if(v instanceof Boolean && (Boolean) v) return true;
       if(create) {
@@ -157,6 +161,12 @@ public final class DBNew {
         v = dbopts.get(MainOptions.ADDRAW);
         if(v instanceof Boolean && (Boolean) v) return true;
       }
+      // large inputs: cache on disk if they exceed the memory limit
+      final IO io = inputs.get(i).io;
+      if(io != null) {
+        final MainOptions mopts = new MainOptions(qc.context.options);
+        if(!MemBuilder.fits(io, dbopts.assignTo(mopts))) return true;
+      }
     }
     return false;
   }
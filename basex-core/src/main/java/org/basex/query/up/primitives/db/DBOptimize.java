@@ -75,6 +75,7 @@ public final class DBOptimize extends DBUpdate {
     options.assignIfAbsent(MainOptions.SPLITSIZE, meta.splitsize);
     options.assignIfAbsent(MainOptions.UPDINDEX, meta.updindex);
     options.assignIfAbsent(MainOptions.AUTOOPTIMIZE, meta.autooptimize);
+    options.assignIfAbsent(MainOptions.SERIALCACHE, meta.serialcache);
     options.assignTo(opts);
 
     // adopt options to database meta data
@@ -85,6 +86,7 @@ public final class DBOptimize extends DBUpdate {
 
     meta.updindex = opts.get(MainOptions.UPDINDEX);
     meta.autooptimize = opts.get(MainOptions.AUTOOPTIMIZE);
+    meta.serialcache = opts.get(MainOptions.SERIALCACHE);
     meta.splitsize = opts.get(MainOptions.SPLITSIZE);
 
     // check if other indexing options have changed
@@ -0,0 +1,86 @@
+package org.basex.query.util;
+
+import org.basex.query.*;
+
+/**
+ * Stable sort of entry positions. The sorted positions are stored in a primitive array;
+ * no boxing is required, and query exceptions raised by comparisons are passed on directly.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public abstract class Sorter {
+  /** Size of the runs that are sorted by insertion sort. */
+  private static final int RUN = 32;
+
+  /**
+   * Compares two entries.
+   * @param i1 position of first entry
+   * @param i2 position of second entry
+   * @return negative value, zero, or positive value
+   * @throws QueryException query exception
+   */
+  protected abstract int compare(int i1, int i2) throws QueryException;
+
+  /**
+   * Returns the positions of the entries in sorted order.
+   * The relative order of equal entries is preserved.
+   * @param size number of entries
+   * @return sorted positions
+   * @throws QueryException query exception
+   */
+  public final int[] sort(final int size) throws QueryException {
+    final int[] order = new int[size];
+    for(int o = 0; o < size; o++) order[o] = o;
+
+    // sort small runs, merge runs of increasing size
+    for(int lo = 0; lo < size; lo += RUN) insertionSort(order, lo, Math.min(lo + RUN, size));
+    if(size > RUN) {
+      final int[] tmp = new int[size];
+      for(int w = RUN; w < size; w <<= 1) {
+        for(int lo = 0; lo < size - w; lo += w << 1) {
+          merge(order, tmp, lo, lo + w, (int) Math.min((long) lo + (w << 1), size));
+        }
+      }
+    }
+    return order;
+  }
+
+  /**
+   * Sorts a range of positions via insertion sort.
+   * @param order positions
+   * @param lo first index (inclusive)
+   * @param hi last index (exclusive)
+   * @throws QueryException query exception
+   */
+  private void insertionSort(final int[] order, final int lo, final int hi)
+      throws QueryException {
+    for(int i = lo + 1; i < hi; i++) {
+      final int o = order[i];
+      int j = i - 1;
+      for(; j >= lo && compare(order[j], o) > 0; j--) order[j + 1] = order[j];
+      order[j + 1] = o;
+    }
+  }
+
+  /**
+   * Merges two adjacent sorted ranges.
+   * @param order positions
+   * @param tmp temporary array
+   * @param lo first index of the first range (inclusive)
+   * @param mid first index of the second range
+   * @param hi last index of the second range (exclusive)
+   * @throws QueryException query exception
+   */
+  private void merge(final int[] order, final int[] tmp, final int lo, final int mid,
+      final int hi) throws QueryException {
+    // skip ranges that are already ordered
+    if(compare(order[mid - 1], order[mid]) <= 0) return;
+
+    System.arraycopy(order, lo, tmp, lo, hi - lo);
+    int l = lo, r = mid, o = lo;
+    while(l < mid && r < hi) order[o++] = compare(tmp[r], tmp[l]) < 0 ? tmp[r++] : tmp[l++];
+    while(l < mid) order[o++] = tmp[l++];
+    while(r < hi) order[o++] = tmp[r++];
+  }
+}
@@ -0,0 +1,229 @@
+package org.basex.query.util.regex;
+
+import static org.basex.util.Token.*;
+
+import org.basex.util.list.*;
+
+/**
+ * Simple regular expression that is matched against UTF-8 tokens without being converted to a
+ * Java pattern. Supported are literal strings (which may be anchored at the start or end)
+ * and single ASCII character classes.
+ *
+ * @author BaseX Team 2005-19, BSD License
+ * @author Christian Gruen
+ */
+public final class TokenPattern {
+  /** Special characters. */
+  private static final byte[] SPECIAL = token("\\|.^$?*+{}()[]");
+
+  /** Literal string ({@code null} if a character class is matched). */
+  private final byte[] literal;
+  /** ASCII characters of a character class ({@code null} if a literal is matched). */
+  private final boolean[] chars;
+  /** Anchored at the start. */
+  private final boolean start;
+  /** Anchored at the end. */
+  private final boolean end;
+  /** Literal modifier. */
+  private final boolean quote;
+
+  /**
+   * Constructor.
+   * @param literal literal string (can be {@code null})
+   * @param chars ASCII characters (can be {@code null})
+   * @param start anchored at the start
+   * @param end anchored at the end
+   * @param quote literal modifier
+   */
+  private TokenPattern(final byte[] literal, final boolean[] chars, final boolean start,
+      final boolean end, final boolean quote) {
+    this.literal = literal;
+    this.chars = chars;
+    this.start = start;
+    this.end = end;
+    this.quote = quote;
+  }
+
+  /**
+   * Returns a token pattern for the specified regular expression.
+   * @param regex regular expression
+   * @param modifiers modifiers
+   * @return pattern, or {@code null} if the expression is too complex or invalid
+   */
+  public static TokenPattern get(final byte[] regex, final byte[] modifiers) {
+    final int rl = regex.length;
+    if(rl == 0) return null;
+
+    // literal modifier: all characters are taken literally
+    final int ml = modifiers.length;
+    if(ml == 1 && modifiers[0] == 'q') return new TokenPattern(regex, null, false, false, true);
+    if(ml != 0) return null;
+
+    // single character class
+    if(regex[0] == '[') return rl > 2 && regex[rl - 1] == ']' ? charClass(regex) : null;
+
+    // literal string, optionally anchored
+    final boolean start = regex[0] == '^', end = regex[rl - 1] == '$' &&
+        (rl == 1 || regex[rl - 2] != '\\');
+    final int s = start ? 1 : 0, e = rl - (end ? 1 : 0);
+    final ByteList literal = new ByteList(e - s);
+    for(int r = s; r < e; r++) {
+      byte b = regex[r];
+      if(b == '\\') {
+        if(++r == e) return null;
+        b = regex[r];
+        if(b == 'n') b = '\n';
+        else if(b == 'r') b = '\r';
+        else if(b == 't') b = '\t';
+        else if(!special(b) && b != '-') return null;
+      } else if(special(b)) {
+        return null;
+      }
+      literal.add(b);
+    }
+    return literal.isEmpty() ? null : new TokenPattern(literal.finish(), null, start, end, false);
+  }
+
+  /**
+   * Parses a character class with ASCII characters and ranges.
+   * @param regex regular expression, enclosed in square brackets
+   * @return pattern or {@code null}
+   */
+  private static TokenPattern charClass(final byte[] regex) {
+    final boolean[] chars = new boolean[128];
+    final int rl = regex.length - 1;
+    for(int r = 1; r < rl; r++) {
+      final byte b = regex[r];
+      if(!plain(b) || r == 1 && b == '^') return null;
+      if(r + 2 < rl && regex[r + 1] == '-') {
+        final byte c = regex[r + 2];
+        if(!plain(c) || c < b) return null;
+        for(int ch = b; ch <= c; ch++) chars[ch] = true;
+        r += 2;
+      } else {
+        chars[b] = true;
+      }
+    }
+    return new TokenPattern(null, chars, false, false, false);
+  }
+
+  /**
+   * Checks if the specified byte is a special character of a regular expression.
+   * @param b byte
+   * @return result of check
+   */
+  private static boolean special(final byte b) {
+    return contains(SPECIAL, b);
+  }
+
+  /**
+   * Checks if the specified byte is a plain ASCII character in a character class.
+   * @param b byte
+   * @return result of check
+   */
+  private static boolean plain(final byte b) {
+    return b >= ' ' && b < 0x7F && b != '-' && b != '[' && b != ']' && b != '\\';
+  }
+
+  /**
+   * Checks if the pattern occurs in the specified token.
+   * @param token token
+   * @return result of check
+   */
+  public boolean find(final byte[] token) {
+    return index(token, 0) != -1;
+  }
+
+  /**
+   * Splits the specified token at all occurrences of the pattern.
+   * @param token token
+   * @return tokens
+   */
+  public TokenList split(final byte[] token) {
+    final TokenList list = new TokenList();
+    final int ml = length();
+    int s = 0;
+    for(int i; (i = index(token, s)) != -1; s = i + ml) {
+      list.add(substring(token, s, i));
+    }
+    return list.add(substring(token, s));
+  }
+
+  /**
+   * Replaces all occurrences of the pattern in the specified token.
+   * @param token token
+   * @param replacement replacement
+   * @return resulting token, or {@code null} if the replacement contains
+   *   group references or escaped characters
+   */
+  public byte[] replace(final byte[] token, final byte[] replacement) {
+    if(!quote && (contains(replacement, '\\') || contains(replacement, '$')))
+      return null;
+
+    int s = 0, i = index(token, s);
+    if(i == -1) return token;
+
+    final ByteList bl = new ByteList(token.length);
+    final int ml = length();
+    do {
+      bl.add(token, s, i).add(replacement);
+      s = i + ml;
+    } while((i = index(token, s)) != -1);
+    return bl.add(token, s, token.length).finish();
+  }
+
+  /**
+   * Returns the length of a match.
+   * @return length
+   */
+  private int length() {
+    return literal != null ? literal.length : 1;
+  }
+
+  /**
+   * Returns the offset of the next match.
+   * @param token token
+   * @param pos start offset
+   * @return offset or {@code -1}
+   */
+  private int index(final byte[] token, final int pos) {
+    final int tl = token.length;
+    if(chars != null) {
+      for(int t = pos; t < tl; t++) {
+        final byte b = token[t];
+        if(b >= 0 && chars[b]) return t;
+      }
+      return -1;
+    }
+    if(end) {
+      // as in Java, $ also matches before a final line terminator that is no whitespace
+      final int ll = literal.length, i = tl - terminator(token) - ll;
+      if(matches(token, i, pos)) return i;
+      return i + ll != tl && matches(token, tl - ll, pos) ? tl - ll : -1;
+    }
+    return start ? matches(token, 0, pos) ? 0 : -1 : indexOf(token, literal, pos);
+  }
+
+  /**
+   * Checks if the literal occurs at the specified offset.
+   * @param token token
+   * @param i offset
+   * @param pos minimum offset
+   * @return result of check
+   */
+  private boolean matches(final byte[] token, final int i, final int pos) {
+    return i >= pos && (!start || i == 0) && startsWith(token, literal, i);
+  }
+
+  /**
+   * Returns the length of a final NEL, LS or PS character.
+   * @param token token
+   * @return length (0 if the token ends with another character)
+   */
+  private static int terminator(final byte[] token) {
+    final int tl = token.length;
+    if(tl > 1 && token[tl - 2] == (byte) 0xC2 && token[tl - 1] == (byte) 0x85) return 2;
+    return tl > 2 && token[tl - 3] == (byte) 0xE2 && token[tl - 2] == (byte) 0x80 &&
+      (token[tl - 1] == (byte) 0xA8 || token[tl - 1] == (byte) 0xA9) ? 3 : 0;
+  }
+}
@@ -69,6 +69,16 @@ public final class B64Lazy extends B64 implements Lazy {
     return data != null;
   }
 
+  /**
+   * Returns the file that will be read by this item. Only returns a reference if the file
+   * exists, and if its contents have not been cached yet and are not to be cached.
+   * @return file or {@code null}
+   */
+  public IOFile file() {
+    return cache || isCached() || !(input instanceof IOFile) || !input.exists() ? null :
+      (IOFile) input;
+  }
+
   @Override
   public String toString() {
     return isCached() ? super.toString() : Function._FILE_READ_BINARY.args(input).substring(1);
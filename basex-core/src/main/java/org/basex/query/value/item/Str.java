@@ -97,6 +97,11 @@ public final class Str extends AStr {
     return value;
   }
 
+  @Override
+  public boolean sameKey(final Item item, final InputInfo ii) throws QueryException {
+    return item instanceof Str ? Token.eq(value, ((Str) item).value) : super.sameKey(item, ii);
+  }
+
   @Override
   public String toJava() {
     return Token.string(value);
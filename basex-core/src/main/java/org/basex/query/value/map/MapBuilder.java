@@ -1,30 +1,51 @@
 package org.basex.query.value.map;
 
+import static org.basex.query.QueryError.*;
+
+import java.util.*;
+
 import org.basex.query.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
 
 /**
- * A convenience class for building new maps.
+ * A convenience class for building new maps. The entries are stored in a mutable hash table,
+ * and the immutable trie is created in a single pass when the map is requested.
+ * This way, no intermediate tries will be created if many entries are added.
  *
  * @author BaseX Team 2005-19, BSD License
  * @author Christian Gruen
  */
-public final class MapBuilder {
-  /** Map. */
-  private XQMap map = XQMap.EMPTY;
+public final class MapBuilder extends ASet {
+  /** Hash values of the keys. */
+  private int[] hashes;
+  /** Keys. */
+  private Item[] keys;
+  /** Values. */
+  private Value[] values;
 
   /**
-   * Adds a key/value pair to the map.
+   * Constructor.
+   */
+  public MapBuilder() {
+    super(Array.CAPACITY);
+    hashes = new int[Array.CAPACITY];
+    keys = new Item[Array.CAPACITY];
+    values = new Value[Array.CAPACITY];
+  }
+
+  /**
+   * Adds a key/value pair to the map. An existing entry will be replaced.
    * @param key key
    * @param value value
    * @return self reference
    * @throws QueryException query exception
    */
   public MapBuilder put(final Item key, final Value value) throws QueryException {
-    map = map.put(key, value, null);
-    return this;
+    return put(key.hash(null), key, value, MergeDuplicates.USE_LAST, null, null);
   }
 
   /**
@@ -50,12 +71,142 @@ public final class MapBuilder {
   }
 
   /**
-   * Returns the resulting map and invalidates the internal reference.
+   * Adds all entries of a map.
+   * @param map map to add
+   * @param merge merge duplicate keys
+   * @param qc query context
+   * @param ii input info
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder add(final XQMap map, final MergeDuplicates merge, final QueryContext qc,
+      final InputInfo ii) throws QueryException {
+    map.root.build(this, merge, qc, ii);
+    return this;
+  }
+
+  /**
+   * Adds a key/value pair to the map.
+   * @param hash hash value of the key
+   * @param key key
+   * @param value value
+   * @param merge merge duplicate keys
+   * @param qc query context (can be {@code null} if duplicates are not combined)
+   * @param ii input info
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  MapBuilder put(final int hash, final Item key, final Value value, final MergeDuplicates merge,
+      final QueryContext qc, final InputInfo ii) throws QueryException {
+
+    final int b = hash & buckets.length - 1;
+    for(int id = buckets[b]; id != 0; id = next[id]) {
+      if(hashes[id] != hash || !keys[id].sameKey(key, ii)) continue;
+      switch(merge) {
+        case USE_FIRST:
+        case UNSPECIFIED:
+          break;
+        case USE_LAST:
+          keys[id] = key;
+          values[id] = value;
+          break;
+        case COMBINE:
+          keys[id] = key;
+          values[id] = ValueBuilder.concat(values[id], value, qc);
+          break;
+        default:
+          throw MERGE_DUPLICATE_X.get(ii, key);
+      }
+      return this;
+    }
+
+    checkSize();
+    final int s = size, p = hash & buckets.length - 1;
+    next[s] = buckets[p];
+    hashes[s] = hash;
+    keys[s] = key;
+    values[s] = value;
+    buckets[p] = s;
+    size = s + 1;
+    return this;
+  }
+
+  /**
+   * Returns the resulting map and invalidates the internal references.
    * @return map
    */
   public XQMap finish() {
-    final XQMap m = map;
-    map = null;
-    return m;
+    final int s = size - 1;
+    TrieNode root = TrieNode.EMPTY;
+    if(s > 0) {
+      final int[] ids = new int[s];
+      for(int i = 0; i < s; i++) ids[i] = i + 1;
+      root = node(ids, new int[s], 0, s, 0);
+    }
+    hashes = null;
+    keys = null;
+    values = null;
+    return root == TrieNode.EMPTY ? XQMap.EMPTY : new XQMap(root);
+  }
+
+  /**
+   * Creates a trie node for the specified entries. The resulting trie is identical to the one
+   * that would be created by inserting the entries one by one.
+   * @param ids ids of the entries
+   * @param tmp temporary array
+   * @param start index of the first entry
+   * @param end index after the last entry
+   * @param level level
+   * @return node
+   */
+  private TrieNode node(final int[] ids, final int[] tmp, final int start, final int end,
+      final int level) {
+
+    final int n = end - start, first = ids[start], hash = hashes[first];
+    if(n == 1) return new TrieLeaf(hash, keys[first], values[first]);
+
+    // all keys have the same hash value: create collision list (entries are in insertion order)
+    int i = start + 1;
+    while(i < end && hashes[ids[i]] == hash) i++;
+    if(i == end) {
+      final Item[] ks = new Item[n];
+      final Value[] vs = new Value[n];
+      for(int e = 0; e < n; e++) {
+        final int id = ids[start + e];
+        ks[e] = keys[id];
+        vs[e] = values[id];
+      }
+      return new TrieList(hash, ks, vs);
+    }
+
+    // distribute entries to the children (stable counting sort)
+    final int[] offsets = new int[TrieNode.KIDS + 1];
+    for(int e = start; e < end; e++) offsets[TrieNode.key(hashes[ids[e]], level) + 1]++;
+    for(int k = 0; k < TrieNode.KIDS; k++) offsets[k + 1] += offsets[k];
+    final int[] pos = Arrays.copyOf(offsets, TrieNode.KIDS);
+    for(int e = start; e < end; e++) tmp[pos[TrieNode.key(hashes[ids[e]], level)]++] = ids[e];
+    System.arraycopy(tmp, 0, ids, start, n);
+
+    final TrieNode[] kids = new TrieNode[TrieNode.KIDS];
+    int used = 0;
+    for(int k = 0; k < TrieNode.KIDS; k++) {
+      final int s = start + offsets[k], e = start + offsets[k + 1];
+      if(s == e) continue;
+      kids[k] = node(ids, tmp, s, e, level + 1);
+      used |= 1 << k;
+    }
+    return new TrieBranch(kids, used, n);
+  }
+
+  @Override
+  protected int hash(final int id) {
+    return hashes[id];
+  }
+
+  @Override
+  protected void rehash(final int newSize) {
+    hashes = Arrays.copyOf(hashes, newSize);
+    keys = Array.copy(keys, new Item[newSize]);
+    values = Array.copy(values, new Value[newSize]);
   }
 }
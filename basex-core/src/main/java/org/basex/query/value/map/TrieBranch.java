@@ -208,6 +208,14 @@ final class TrieBranch extends TrieNode {
     }
   }
 
+  @Override
+  void build(final MapBuilder mb, final MergeDuplicates merge, final QueryContext qc,
+      final InputInfo ii) throws QueryException {
+    for(final TrieNode nd : kids) {
+      if(nd != null) nd.build(mb, merge, qc, ii);
+    }
+  }
+
   @Override
   void cache(final boolean lazy, final InputInfo ii) throws QueryException {
     for(final TrieNode nd : kids) {
@@ -201,6 +201,12 @@ final class TrieLeaf extends TrieNode {
     vs.add(value);
   }
 
+  @Override
+  void build(final MapBuilder mb, final MergeDuplicates merge, final QueryContext qc,
+      final InputInfo ii) throws QueryException {
+    mb.put(hash, key, value, merge, qc, ii);
+  }
+
   @Override
   void cache(final boolean lazy, final InputInfo ii) throws QueryException {
     key.cache(lazy, ii);
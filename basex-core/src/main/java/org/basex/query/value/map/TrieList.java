@@ -287,6 +287,12 @@ final class TrieList extends TrieNode {
     for(final Value value : values) vs.add(value);
   }
 
+  @Override
+  void build(final MapBuilder mb, final MergeDuplicates merge, final QueryContext qc,
+      final InputInfo ii) throws QueryException {
+    for(int i = 0; i < size; i++) mb.put(hash, keys[i], values[i], merge, qc, ii);
+  }
+
   @Override
   void cache(final boolean lazy, final InputInfo ii) throws QueryException {
     for(int i = 0; i < size; i++) {
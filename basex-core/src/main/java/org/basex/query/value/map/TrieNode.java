@@ -53,6 +53,9 @@ abstract class TrieNode {
     @Override
     void values(final ValueBuilder vs) { }
     @Override
+    void build(final MapBuilder mb, final MergeDuplicates merge, final QueryContext qc,
+        final InputInfo ii) { }
+    @Override
     void cache(final boolean lazy, final InputInfo ii) { }
     @Override
     boolean materialized() { return true; }
@@ -204,6 +207,17 @@ return this == node; }
    */
   abstract void values(ValueBuilder vs);
 
+  /**
+   * Adds all entries of this subtree to a map builder.
+   * @param mb map builder
+   * @param merge merge duplicate keys
+   * @param qc query context
+   * @param ii input info
+   * @throws QueryException query exception
+   */
+  abstract void build(MapBuilder mb, MergeDuplicates merge, QueryContext qc, InputInfo ii)
+      throws QueryException;
+
   /**
    * Caches all keys and values.
    * @param lazy lazy caching
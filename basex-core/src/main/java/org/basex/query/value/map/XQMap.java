@@ -30,13 +30,13 @@ public final class XQMap extends XQData {
   static final int BITS = 5;
 
   /** Wrapped immutable map. */
-  private final TrieNode root;
+  final TrieNode root;
 
   /**
    * Constructor.
    * @param root map
    */
-  private XQMap(final TrieNode root) {
+  XQMap(final TrieNode root) {
     super(SeqType.ANY_MAP);
     this.root = root;
   }
@@ -3,11 +3,13 @@ package org.basex.query.value.node;
 import static org.basex.query.QueryText.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.api.dom.*;
 import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.data.*;
+import org.basex.index.path.*;
 import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
@@ -186,7 +188,7 @@ public class DBNode extends ANode {
   public final byte[] baseURI() {
     if(type == NodeType.DOC) {
       final String base = Token.string(data.text(pre, true));
-      if(data.inMemory()) {
+      if(data.inMemory() || data.meta.temp) {
         final String path = data.meta.original;
         return Token.token(path.isEmpty() ? base : IO.get(path).merge(base).url());
       }
@@ -360,6 +362,90 @@ public class DBNode extends ANode {
     };
   }
 
+  /**
+   * Returns an iterator for the descendant nodes (or descendant-or-self nodes) whose
+   * pre values are contained in the specified array.
+   * @param self include self node
+   * @param pres sorted pre values
+   * @return iterator
+   */
+  public final DBNodeIter descendantIter(final boolean self, final int[] pres) {
+    return new DBNodeIter(data) {
+      final DBNode node = finish();
+      final int last = pre + data.size(pre, data.kind(pre));
+      int curr = Arrays.binarySearch(pres, self ? pre : pre + 1);
+
+      {
+        if(curr < 0) curr = -curr - 1;
+      }
+
+      @Override
+      public DBNode next() {
+        if(curr == pres.length) return null;
+        final int p = pres[curr];
+        if(p >= last) return null;
+        curr++;
+        node.set(p, data.kind(p));
+        return node;
+      }
+    };
+  }
+
+  /**
+   * Returns an iterator for the descendant nodes (or descendant-or-self nodes) that may be
+   * relevant for a query. Subtrees of elements will be skipped if their path node is not
+   * contained in the specified map.
+   * @param self include self node
+   * @param path path node of this node (must be contained in the map)
+   * @param nodes path nodes of relevant elements and their ancestors, and flags indicating
+   *   if their subtrees contain other elements
+   * @return iterator
+   */
+  public final DBNodeIter descendantIter(final boolean self, final PathNode path,
+      final Map<PathNode, Boolean> nodes) {
+    return new DBNodeIter(data) {
+      final DBNode node = finish();
+      final int last = pre + data.size(pre, data.kind(pre));
+      int curr = self ? pre : pre + data.attSize(pre, data.kind(pre));
+      // path nodes of ancestors with skippable subtrees, and pre values following the subtrees
+      PathNode[] paths = { path };
+      int[] ends = { last };
+      int sp = 1;
+
+      @Override
+      public DBNode next() {
+        while(curr < last) {
+          final int k = data.kind(curr);
+          if(k == Data.ELEM && curr != pre) {
+            while(ends[sp - 1] <= curr) sp--;
+            final PathNode parent = paths[sp - 1];
+            if(parent != null) {
+              final PathNode pn = parent.child(data.nameId(curr), k);
+              final Boolean partial = pn != null ? nodes.get(pn) : Boolean.FALSE;
+              final int end = curr + data.size(curr, k);
+              if(partial == null) {
+                // skip subtree without relevant elements
+                curr = end;
+                continue;
+              }
+              if(sp == paths.length) {
+                paths = Array.copy(paths, new PathNode[sp << 1]);
+                ends = Arrays.copyOf(ends, sp << 1);
+              }
+              // no further checks required if all elements of the subtree are relevant
+              paths[sp] = partial ? pn : null;
+              ends[sp++] = end;
+            }
+          }
+          node.set(curr, k);
+          curr += data.attSize(curr, k);
+          return node;
+        }
+        return null;
+      }
+    };
+  }
+
   @Override
   public final DBNodeIter followingIter() {
     return new DBNodeIter(data) {
@@ -65,6 +65,19 @@ public final class QueryStack {
     if(len != sl) resize(len);
   }
 
+  /**
+   * Adopts the variable bindings of the current stack frame of another stack.
+   * @param qs stack to copy
+   */
+  public void copy(final QueryStack qs) {
+    final int e = qs.end;
+    ensureCapacity(e);
+    Array.copy(qs.stack, e, stack);
+    Array.copy(qs.vars, e, vars);
+    start = qs.start;
+    end = e;
+  }
+
   /**
    * Ensures that the query stack has at least the given size.
    * @param newSize required size of the stack
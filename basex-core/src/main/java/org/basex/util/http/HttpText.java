@@ -36,6 +36,16 @@ public interface HttpText {
   String ACCEPT = "Accept";
   /** HTTP header string. */
   String ALLOW = "Allow";
+  /** HTTP header string. */
+  String ACCEPT_ENCODING = "Accept-Encoding";
+  /** HTTP header string. */
+  String VARY = "Vary";
+  /** HTTP header string. */
+  String RANGE = "Range";
+  /** HTTP header string. */
+  String CONTENT_RANGE = "Content-Range";
+  /** HTTP header string. */
+  String ACCEPT_RANGES = "Accept-Ranges";
 
   /** Content-Disposition (lower case). */
   byte[] CONTENT_DISPOSITION = token("content-disposition");
@@ -51,6 +61,8 @@ public interface HttpText {
   String DEFAULT_BOUNDARY = "1BEF0A57BE110FD467A";
   /** Boundary marker. */
   String BOUNDARY = "boundary";
+  /** Range unit. */
+  String BYTES = "bytes";
   /** HTTP method TRACE. */
   String TRACE = "TRACE";
   /** HTTP method DELETE. */
@@ -69,6 +81,8 @@ public interface HttpText {
 
   /** Content encoding: gzip. */
   String GZIP = "gzip";
+  /** Content encoding: deflate. */
+  String DEFLATE = "deflate";
 
   /** QName. */
   QNm Q_BODY = new QNm(HTTP_PREFIX, "body", HTTP_URI);
@@ -192,6 +192,24 @@ public final class AddDeleteTest extends SandboxTest {
     assertTrue(io.delete());
   }
 
+  /**
+   * Adds a broken document and checks that the database is left unchanged.
+   * @throws BaseXException database exception
+   */
+  @Test public void addCorruptRollback() throws BaseXException {
+    execute(new Add("a.xml", "<a/>"));
+    try {
+      new Add("b.xml", "<b xmlns:p='u'><p:c>").execute(context);
+      fail("Broken file was added to the database.");
+    } catch(final BaseXException ignored) { }
+    assertEquals(1, docs());
+    assertEquals("0", query("count(//*:c)"));
+
+    execute(new Add("c.xml", "<c xmlns:p='u'><p:d/></c>"));
+    assertEquals(2, docs());
+    assertEquals("1", query("count(//*:d)"));
+  }
+
   /**
    * Creates a database from a broken input.
    * @throws BaseXException database exception
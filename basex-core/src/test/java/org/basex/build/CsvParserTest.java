@@ -137,4 +137,28 @@ public final class CsvParserTest extends SandboxTest {
     execute(new CreateDB(NAME, FILE));
     assertEquals("true", query("exists(//entry[@name = 'Name'])"));
   }
+
+  /**
+   * Parses a file in parallel.
+   */
+  @Test public void parallel() {
+    // create file with multiple chunks and quoted newlines
+    final TokenBuilder tb = new TokenBuilder().add("A,B,C\r\n");
+    for(int i = 0; i < 200000; i++) {
+      tb.addInt(i).add(",\"x\n\"\"").addInt(i).add("\"\"\r\ny\",").addInt(i).add("\u00E4\r\n");
+    }
+    write(new IOFile(TEMP), tb.toString());
+
+    for(final boolean backslashes : new boolean[] { false, true }) {
+      copts.set(CsvOptions.HEADER, true);
+      copts.set(CsvOptions.BACKSLASHES, backslashes);
+      copts.set(CsvParserOptions.PARALLEL, false);
+      execute(new CreateDB(NAME, TEMP));
+      final String expected = query(".");
+      copts.set(CsvParserOptions.PARALLEL, true);
+      execute(new CreateDB(NAME, TEMP));
+      assertEquals("200000", query("count(//record)"));
+      assertEquals(expected, query("."));
+    }
+  }
 }
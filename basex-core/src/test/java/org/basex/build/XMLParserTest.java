@@ -126,4 +126,22 @@ public final class XMLParserTest extends SandboxTest {
       assertEquals("Internal parser: " + b, out, query("."));
     }
   }
+
+  /**
+   * Compares the results of the internal and the default parser for text and attribute values
+   * with plain and escaped characters.
+   */
+  @Test public void text() {
+    set(MainOptions.CHOP, false);
+    set(MainOptions.SERIALIZER, SerializerMode.NOINDENT.get());
+
+    final String doc = "<x a='A&amp;B\nC\r\nD E\"F' b=\"'G'\">" +
+        "text\r\nwith &lt;&#65;&gt; ]> \u00e4 <![CDATA[<c>]]]>\ttext\n<y>%</y></x>";
+    set(MainOptions.INTPARSE, false);
+    execute(new CreateDB(NAME, doc));
+    final String expected = query(".");
+    set(MainOptions.INTPARSE, true);
+    execute(new CreateDB(NAME, doc));
+    assertEquals(expected, query("."));
+  }
 }
@@ -12,6 +12,7 @@ import org.basex.core.parse.Commands.*;
 import org.basex.core.users.*;
 import org.basex.io.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 import org.junit.*;
 import org.junit.Test;
 
@@ -34,12 +35,15 @@ public class CommandTest extends SandboxTest {
   static final String ADMIN = "admin";
   /** Socket reference. */
   static Session session;
+  /** Static options of the context that executes the commands. */
+  static StaticOptions soptions;
 
   /** Starts the server.
    * @throws IOException I/O exception
    */
   @BeforeClass public static void start() throws IOException {
     session = new LocalSession(context);
+    soptions = context.soptions;
     cleanUp();
   }
 
@@ -166,6 +170,40 @@ public class CommandTest extends SandboxTest {
     ok(new DropBackup(NAME));
   }
 
+  /** Create Backup Test: incremental snapshots. */
+  @Test public final void createBackupSnapshots() {
+    soptions.set(StaticOptions.BACKUPSNAPSHOTS, true);
+    try {
+      ok(new CreateDB(NAME, FILE));
+      ok(new CreateBackup(NAME));
+      assertTrue(soptions.dbPath(".snapshots/" + NAME).exists());
+      ok(new Add("a.xml", "<a/>"));
+      ok(new Close());
+      ok(new CreateBackup(NAME));
+      ok(new DropDB(NAME));
+      ok(new Restore(NAME));
+      assertEquals("2", ok(new XQuery(COUNT.args(_DB_OPEN.args(NAME)))));
+
+      // update files in place, keep modification times
+      ok(new CreateBackup(NAME));
+      final IOFile dbpath = soptions.dbPath(NAME);
+      final StringList files = dbpath.descendants();
+      final int fs = files.size();
+      final long[] times = new long[fs];
+      for(int f = 0; f < fs; f++) times[f] = new IOFile(dbpath, files.get(f)).timeStamp();
+      ok(new XQuery("rename node " + _DB_OPEN.args(NAME, "a.xml") + "/* as 'b'"));
+      ok(new Close());
+      for(int f = 0; f < fs; f++) new IOFile(dbpath, files.get(f)).file().setLastModified(times[f]);
+      ok(new CreateBackup(NAME));
+      ok(new DropDB(NAME));
+      ok(new Restore(NAME));
+      assertEquals("b", ok(new XQuery("name(" + _DB_OPEN.args(NAME, "a.xml") + "/*)")));
+      ok(new DropBackup(NAME));
+    } finally {
+      soptions.set(StaticOptions.BACKUPSNAPSHOTS, false);
+    }
+  }
+
   /** Command test. */
   @Test public final void createDB() {
     ok(new CreateDB(NAME, FILE));
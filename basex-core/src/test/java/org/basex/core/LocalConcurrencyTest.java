@@ -1,12 +1,16 @@
 package org.basex.core;
 
+import static org.basex.query.func.Function.*;
 import static org.junit.Assert.*;
 
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
 import org.basex.*;
 import org.basex.api.client.*;
 import org.basex.core.cmd.*;
+import org.basex.io.*;
 import org.basex.util.*;
 import org.junit.Test;
 
@@ -49,4 +53,58 @@ public final class LocalConcurrencyTest extends SandboxTest {
       execute(new DropUser("user"));
     }
   }
+
+  /**
+   * Test for writing to a database while its backup is being compressed.
+   * @throws Exception exception
+   */
+  @Test public void writeDuringBackup() throws Exception {
+    final Random rnd = new Random();
+    final StringBuilder xml = new StringBuilder("<a>");
+    for(int i = 0; i < 10000; i++) xml.append("<b>").append(rnd.nextDouble()).append("</b>");
+    execute(new CreateDB(NAME, xml.append("</a>").toString()));
+
+    // occupy all threads of the pool that is used for compressing the backup
+    final ForkJoinPool pool = context.jobs.forkPool();
+    final int threads = pool.getParallelism();
+    final CountDownLatch blocked = new CountDownLatch(threads), release = new CountDownLatch(1);
+    for(int t = 0; t < threads; t++) {
+      pool.execute(() -> {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch(final InterruptedException ex) {
+          Util.debug(ex);
+        }
+      });
+    }
+    final Thread backup = new Thread(() -> execute(new CreateBackup(NAME)));
+    try {
+      assertTrue(blocked.await(10, TimeUnit.SECONDS));
+      backup.start();
+
+      // wait until the snapshot has been created and the database lock has been released
+      final IOFile dbpath = context.soptions.dbPath();
+      while(backup.isAlive() && dbpath.children(NAME + "-.*\\" + IO.ZIPSUFFIX).length == 0) {
+        Performance.sleep(1);
+      }
+      assertTrue("Backup was not blocked.", backup.isAlive());
+      final Thread write = new Thread(() -> query(_DB_ADD.args(NAME, " <a/>", "b.xml")));
+      write.start();
+      write.join(10000);
+      assertFalse("Write operation was blocked by backup.", write.isAlive());
+    } finally {
+      release.countDown();
+      backup.join();
+    }
+    try {
+      assertEquals("2", query(COUNT.args(_DB_OPEN.args(NAME))));
+      execute(new DropDB(NAME));
+      execute(new Restore(NAME));
+      assertEquals("1", query(COUNT.args(_DB_OPEN.args(NAME))));
+    } finally {
+      execute(new DropBackup(NAME));
+      execute(new DropDB(NAME));
+    }
+  }
 }
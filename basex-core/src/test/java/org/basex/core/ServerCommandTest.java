@@ -29,6 +29,7 @@ public final class ServerCommandTest extends CommandTest {
   @BeforeClass public static void start() throws IOException {
     server = createServer();
     session = createClient();
+    soptions = server.context.soptions;
     cleanUp();
   }
 
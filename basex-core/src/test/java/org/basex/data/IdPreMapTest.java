@@ -2,9 +2,12 @@ package org.basex.data;
 
 import static org.junit.Assert.*;
 
+import java.io.*;
 import java.util.*;
 
 import org.basex.index.*;
+import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 import org.junit.*;
 
@@ -96,6 +99,59 @@ public final class IdPreMapTest {
     }
   }
 
+  /** Correctness: look up inserted IDs after mixed inserts and deletes of multiple records. */
+  @Test public void insertedIdsCorrectness() {
+    final IntList inserted = new IntList();
+    for(int i = 0, cnt = BASEID + 1, id = BASEID + 1; i < ITERATIONS * 5; ++i) {
+      if(RANDOM.nextInt(3) != 0 || cnt == 0) {
+        final int pre = RANDOM.nextInt(cnt + 1), c = RANDOM.nextInt(3) + 1;
+        for(int n = 0; n < c; n++) {
+          insert(pre + n, id);
+          inserted.add(id++);
+          cnt++;
+        }
+      } else {
+        delete(RANDOM.nextInt(cnt--));
+      }
+      // compare with linear lookup of the dummy map
+      final int is = inserted.size();
+      for(int n = 0; n < is; n++) {
+        final int id2 = inserted.get(n);
+        assertEquals("ID " + id2, basemap.pre(id2), testedmap.pre(id2));
+      }
+    }
+  }
+
+  /**
+   * Correctness: look up inserted IDs after the map has been written and read again.
+   * @throws IOException I/O exception
+   */
+  @Test public void readCorrectness() throws IOException {
+    final IntList inserted = new IntList();
+    for(int i = 0, cnt = BASEID + 1, id = BASEID + 1; i < ITERATIONS * 5; ++i) {
+      if(RANDOM.nextInt(3) != 0 || cnt == 0) {
+        final int pre = RANDOM.nextInt(cnt + 1);
+        insert(pre, id);
+        inserted.add(id++);
+        cnt++;
+      } else {
+        delete(RANDOM.nextInt(cnt--));
+      }
+    }
+    final IOFile file = new IOFile(Prop.TEMPDIR, Prop.NAME + ".idp");
+    try {
+      testedmap.write(file);
+      final IdPreMap map = new IdPreMap(file);
+      final int is = inserted.size();
+      for(int n = 0; n < is; n++) {
+        final int id = inserted.get(n);
+        assertEquals("ID " + id, basemap.pre(id), map.pre(id));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
   /** Insert performance: insert at random positions. */
   @Test public void insertPerformance() {
     insertPerformance(testedmap);
@@ -147,6 +147,34 @@ public final class JsonParserTest {
     error("true123", true);
   }
 
+  /** Tests the positions and contexts of parse errors. */
+  @Test public void errorPositions() {
+    error("[1,]", "1:4", "Unexpected JSON value: ']'");
+    error("[1]\n x  ", "2:2", "Unexpected trailing content: x  ");
+    error("[1,\ntru }", "2:1", "Unexpected JSON value: 'tru }'");
+    error("[nul]", "1:2", "Unexpected JSON value: 'nul]'");
+    error("{\"a\" 1}", "1:6", "Expected ':', found '1'");
+    error("[\n  1,\n  ]", "3:3", "Unexpected JSON value: ']'");
+    error("true  nonsense that is rather long", "1:7",
+        "Unexpected trailing content: nonsense that i...");
+  }
+
+  /**
+   * Tests if the given JSON string is rejected at the specified position.
+   * @param json JSON string
+   * @param pos expected line and column
+   * @param msg expected error message
+   */
+  private static void error(final String json, final String pos, final String msg) {
+    try {
+      parse(json, false);
+      fail("Should have failed: '" + json + '\'');
+    } catch(final QueryIOException qe) {
+      final String message = qe.getMessage();
+      assertTrue(message, message.contains('(' + pos + "): " + msg + '.'));
+    }
+  }
+
   /**
    * Tests if the given JSON string is rejected by the parser using the given spec.
    * @param json JSON string
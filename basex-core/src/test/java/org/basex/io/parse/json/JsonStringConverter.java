@@ -43,7 +43,7 @@ final class JsonStringConverter extends JsonConverter {
     jopts.set(JsonParserOptions.LIBERAL, liberal);
     jopts.set(JsonParserOptions.ESCAPE, escape);
     final TokenBuilder tb = new TokenBuilder();
-    JsonParser.parse(json, null, jopts, new JsonStringConverter(jopts, tb));
+    new JsonStringConverter(jopts, tb).convert(Token.token(json), null);
     return tb.toString();
   }
 
@@ -147,6 +147,17 @@ public final class JsonSerializerTest extends SandboxTest {
     serialize("1", "1", format);
   }
 
+  /**
+   * Tests for JSON lines.
+   * @throws Exception exception
+   */
+  @Test public void lines() throws Exception {
+    final JsonSerialOptions jopts = new JsonSerialOptions();
+    jopts.set(JsonSerialOptions.LINES, true);
+    assertEquals("{'A':1}\n[2]\n3", serialize("map { 'A': 1 }, [2], 3", jopts));
+    assertEquals("{'A':[1,2]}", serialize("map { 'A': [1, 2] }", jopts));
+    assertEquals("", serialize("()", jopts));
+  }
 
   /**
    * Serializes the specified input as JSON.
@@ -190,11 +201,22 @@ public final class JsonSerializerTest extends SandboxTest {
    * @throws Exception exception
    */
   private static String serialize(final String qu, final JsonFormat format) throws Exception {
+    final JsonSerialOptions jopts = new JsonSerialOptions();
+    jopts.set(JsonOptions.FORMAT, format);
+    return serialize(qu, jopts);
+  }
+
+  /**
+   * Serializes the specified input as JSON.
+   * @param qu query string
+   * @param jopts JSON options
+   * @return result
+   * @throws Exception exception
+   */
+  private static String serialize(final String qu, final JsonSerialOptions jopts)
+      throws Exception {
     final ArrayOutput ao = new ArrayOutput();
     try(QueryProcessor qp = new QueryProcessor(qu, context)) {
-      final JsonSerialOptions jopts = new JsonSerialOptions();
-      jopts.set(JsonOptions.FORMAT, format);
-
       final SerializerOptions sopts = new SerializerOptions();
       sopts.set(SerializerOptions.METHOD, SerialMethod.JSON);
       sopts.set(SerializerOptions.INDENT, YesNo.NO);
@@ -18,6 +18,17 @@ public final class SerializerTest extends SandboxTest {
     query(SerializerOptions.METHOD.arg("xml") + "<html/>", "<html/>");
   }
 
+  /** Test: escaping of characters in texts and attribute values. */
+  @Test public void escape() {
+    final String option = SerializerOptions.METHOD.arg("xml");
+    query(option + "<a b='&lt;&amp;&gt;&quot;&#x9;&#xa;&#x85;&#x2028;x\u00e4'>" +
+        "&lt;&amp;&gt;\"&#x9;&#x7f;&#x85;&#x2028;x\u00e4</a>",
+        "<a b=\"&lt;&amp;&gt;&quot;&#x9;&#xA;&#x85;&#x2028;x\u00e4\">" +
+        "&lt;&amp;&gt;\"\t&#x7F;&#x85;&#x2028;x\u00e4</a>");
+    query(option + SerializerOptions.ENCODING.arg("US-ASCII") + "<a b='\u00e4'>\u00e4</a>",
+        "<a b=\"&#xE4;\">&#xE4;</a>");
+  }
+
   /** Test: method=xhtml. */
   @Test public void xhtml() {
     final String option = SerializerOptions.METHOD.arg("xhtml");
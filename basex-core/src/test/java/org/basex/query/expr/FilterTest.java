@@ -301,4 +301,19 @@ public final class FilterTest extends SandboxTest {
   @Test public void nested() {
     query("((1 to 2)[. != 0])[position() != .]", "");
   }
+
+  /** Repeated equality comparisons, evaluated via hash index. */
+  @Test public void hashed() {
+    query("let $s := (1 to 20) ! string(. mod 3) "
+        + "for $i in ('1', 'x', '0') return count($s[. = $i])", "7\n0\n6");
+    query("let $n := (1 to 20) ! (. mod 4) "
+        + "for $i in (1, 2.0, 3e0, 5) return count($n[. = $i])", "5\n5\n5\n0");
+    query("let $a := (1 to 20) ! <a id='{ . }'/> "
+        + "let $b := (1 to 20) ! <b ref='{ . * 2 }'/> "
+        + "return string-join(for $x in $a, $y in $b where $x/@id = $y/@ref return $y/@ref, ',')",
+        "2,4,6,8,10,12,14,16,18,20");
+    query("let $a := (1 to 4) ! <a id='{ . }'/> "
+        + "for $i in (1 to 3) return $a[@id = (string($i), string($i + 1))]/@id/string()",
+        "1\n2\n2\n3\n3\n4");
+  }
 }
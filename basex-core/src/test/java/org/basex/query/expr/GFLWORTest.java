@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 import static org.junit.Assert.*;
 
+import org.basex.core.*;
 import org.basex.query.ast.*;
 import org.basex.query.expr.gflwor.*;
 import org.basex.query.up.expr.*;
@@ -30,6 +31,16 @@ public final class GFLWORTest extends QueryPlanTest {
     assertEquals("1", query("let $i := 1 group by $i, $i return $i"));
   }
 
+  /** Tests grouping with many groups and non-grouping variables. */
+  @Test public void groupManyTest() {
+    assertEquals("100000\n300000\n1,100001,200001\n600000\n1", query(
+        "let $r := for $i in 1 to 300000 " +
+        "let $s := string($i) let $e := <e>{ $i }</e> let $o := if($i = 5) then 'x' else () " +
+        "group by $k := $i mod 100000 " +
+        "return [ $k, count($i), string-join($s, ','), sum($e), count($o) ] " +
+        "return (count($r), sum($r?2), $r[1]?3, $r[last()]?4, sum($r?5))"));
+  }
+
   /** Positional optimization. */
   @Test public void posOptimizationTest() {
     assertEquals("<a/>", query("for $a at $p in (<a/>,<b/>)/. where $p < 2 return $a"));
@@ -400,4 +411,44 @@ public final class GFLWORTest extends QueryPlanTest {
   @Test public void posVar() {
     check("for $v at $p in (1, 2) where $p = 2 return $v", 2, root(Int.class));
   }
+
+  /** Order by clause, followed by positional limit. */
+  @Test public void orderByLimit() {
+    final String flwor = "for $i in 1 to 100 order by $i mod 3 return $i";
+    query("(" + flwor + ")[position() <= 5]", "3\n6\n9\n12\n15");
+    query("(" + flwor + ")[4]", 12);
+    query("head(" + flwor + ")", 3);
+    query("subsequence(" + flwor + ", 33, 3)", "99\n1\n4");
+    query("(for $i in 1 to 10 order by $i mod 2 return ($i, $i))[position() <= 3]", "2\n2\n4");
+    query("(for $i in 1 to 10 order by $i descending empty least return $i)[position() < 3]",
+        "10\n9");
+    query("(for $i in 1 to 1000 order by $i mod 7 descending return $i)[position() <= 4]",
+        "6\n13\n20\n27");
+
+    // type errors raised while comparing cached tuples
+    final String func = "declare %basex:inline(0) function local:k($i) { "
+        + "if($i = 1) then () else if($i = 2) then 2 else 'x' }; ";
+    final String keys = "for $i in 1 to xs:integer(<a>3</a>) order by local:k($i) empty greatest "
+        + "return $i";
+    error(func + '(' + keys + ')', INVTYPE_X_X_X);
+    error(func + '(' + keys + ")[position() <= 3]", INVTYPE_X_X_X);
+    error(func + '(' + keys + ")[position() <= 1]", INVTYPE_X_X_X);
+  }
+
+  /** Parallel evaluation of for clauses. */
+  @Test public void parallel() {
+    try {
+      set(MainOptions.PARALLELFOR, true);
+      query("let $x := 3 return sum(for $i at $p in 1 to 1000 let $y := $i + $x "
+          + "where $i mod 2 = 0 return $y * $p)", 167918500);
+      query("string-join(for $i in 1 to 20 return $i, ',')",
+          "1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20");
+      query("(1 to 5) ! sum(for $i in 1 to . return $i * .)", "1\n6\n18\n40\n75");
+      query("(for $i in 1 to 10 return <a>{ $i }</a>)[. = 3]", "<a>3</a>");
+      error("for $i in 1 to 100 return xs:integer(if($i = 77) then 'x' else string($i))",
+          FUNCCAST_X_X_X);
+    } finally {
+      set(MainOptions.PARALLELFOR, false);
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package org.basex.query.expr;
 
 import org.basex.*;
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.junit.*;
 import org.junit.Test;
@@ -245,4 +246,69 @@ public final class PathTest extends SandboxTest {
   @Test public void gh1728() {
     query("<a/> ! (.,.)/./1[. = 1]", 1);
   }
+
+  /** Descendant steps: skip subtrees via path index. */
+  @Test public void skipSubtrees() {
+    execute(new CreateDB(NAME, "<r xmlns:p='u'><a><b><c/></b><d><e/></d></a>"
+        + "<p:a><p:c/><x><c/></x></p:a><c><c/></c></r>"));
+    final String func = "declare %basex:inline(0) function local:f($n) { $n//*:c ! name() };"
+        + "declare %basex:inline(0) function local:g($n) { $n/descendant-or-self::c ! name() };";
+    query(func + "string-join(local:f(/r/*), ',')", "c,p:c,c,c");
+    query(func + "string-join(local:g(/r/*), ',')", "c,c,c,c");
+    query(func + "count(local:f(/r/*/*[not(*)]))", 0);
+
+    // skip checks if path index is out of date
+    query("insert node <c/> into /r/a/d/e");
+    query(func + "count(local:f(/r/a))", 2);
+  }
+
+  /** Child and descendant steps: structural join. */
+  @Test public void structuralJoin() {
+    execute(new CreateDB(NAME, "<r><a><b id='1'><a><b id='2'/></a></b><c><b id='3'/></c></a>"
+        + "<b id='4'><a/></b><a><b id='5'/><p:b xmlns:p='u' id='7'/></a></r>"));
+    final String func = "declare %basex:inline(0) function local:f($n) { $n//a//b ! string(@id) };"
+        + "declare %basex:inline(0) function local:g($n) { "
+        + "$n/descendant-or-self::a/b[@id > 2] ! string(@id) };"
+        + "declare %basex:inline(0) function local:h($n) { $n//a//*:b ! string(@id) };";
+    try {
+      // results must not depend on the availability of name postings
+      for(final boolean index : new boolean[] { false, true }) {
+        set(MainOptions.NAMEINDEX, index);
+        query(func + "string-join(local:f(/r), ',')", "1,2,3,5");
+        query(func + "string-join(local:f(//a), ',')", 2);
+        query(func + "string-join(local:f((//a)[last()]), ',')", "");
+        query(func + "string-join(local:g(/r/*), ',')", 5);
+        query(func + "string-join(local:g(/r/*/*), ',')", "");
+        query(func + "string-join(local:h(/r), ',')", "1,2,3,5,7");
+        query(func + "string-join(local:f(//x), ',')", "");
+      }
+      // name postings are ignored if the database is out of date
+      query("insert node <b id='6'/> into /r/a[1]");
+      query(func + "string-join(local:f(/r), ',')", "1,2,3,6,5");
+    } finally {
+      set(MainOptions.NAMEINDEX, false);
+    }
+  }
+
+  /** Descendant steps: look up elements via name index. */
+  @Test public void nameIndex() {
+    try {
+      set(MainOptions.NAMEINDEX, true);
+      execute(new CreateDB(NAME, "<r xmlns:p='u'><a><b><c/></b><d><e/></d></a>"
+          + "<p:a><p:c/><x><c/></x></p:a><c><c/></c></r>"));
+      final String func = "declare %basex:inline(0) function local:f($n) { $n//*:c ! name() };"
+          + "declare %basex:inline(0) function local:g($n) { $n/descendant-or-self::c ! name() };";
+      query(func + "string-join(local:f(/r/*), ',')", "c,p:c,c,c");
+      query(func + "string-join(local:g(/r/*), ',')", "c,c,c,c");
+      query(func + "count(local:f(/r/*/*[not(*)]))", 0);
+
+      // skip index if database is out of date, rebuild it after optimization
+      query("insert node <c/> into /r/a/d/e");
+      query(func + "count(local:f(/r/a))", 2);
+      execute(new Optimize());
+      query(func + "count(local:f(/r/a))", 2);
+    } finally {
+      set(MainOptions.NAMEINDEX, false);
+    }
+  }
 }
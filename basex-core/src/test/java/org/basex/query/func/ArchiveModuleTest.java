@@ -45,6 +45,11 @@ public final class ArchiveModuleTest extends SandboxTest {
     count(func.args(" <archive:entry>X</archive:entry>", "",
         " map { 'format': 'gzip' }"), 1);
 
+    // large entries (compressed in chunks)
+    query("let $s := " + STRING_JOIN.args(" (1 to 500000) ! string()") +
+        "return " + _ARCHIVE_EXTRACT_TEXT.args(func.args(" ('a', 'b')", " ($s, $s)"), "b") +
+        " = $s", true);
+
     // different number of entries and contents
     error(func.args("X", " ()"), ARCHIVE_NUMBER_X_X);
     // name must not be empty
@@ -219,6 +224,10 @@ public final class ArchiveModuleTest extends SandboxTest {
     query(_ARCHIVE_CREATE.args(" <archive:entry>X</archive:entry>", "X") + " ! " +
         func.args(" .", " <archive:entry>X</archive:entry>", "Y") + " ! " +
         _ARCHIVE_EXTRACT_TEXT.args(" ."), "Y");
+    // copies existing entries that are larger than a compressed chunk
+    query(_ARCHIVE_CREATE.args("X", " string-join((1 to 1000000) ! string())") + " ! " +
+        func.args(" .", "Y", "Y") + " ! " +
+        _ARCHIVE_EXTRACT_TEXT.args(" .") + " ! string-length()", "5888896\n1");
     // updates an existing entry
     error(_ARCHIVE_CREATE.args("X", "X", " map { 'format': 'gzip' }") + " ! " +
         func.args(" .", "X", "Y"), ARCHIVE_MODIFY_X);
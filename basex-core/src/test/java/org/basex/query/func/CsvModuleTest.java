@@ -97,6 +97,8 @@ public final class CsvModuleTest extends SandboxTest {
     serial(" map{'records':['A','B']}",             "'header':false(),'format':'xquery'", "A,B\n");
     serial(" map{'names':['A','B'],'records':()}",  "'header':true(),'format':'xquery'", "A,B\n");
     serial(" map{'names':['A'],'records':(['1'])}", "'header':true(),'format':'xquery'", "A\n1\n");
+    // single records
+    serial(" (['A','B'], ['1','2'])",              "'format':'xquery'", "A,B\n1,2\n");
   }
 
   /**
@@ -55,6 +55,7 @@ public final class DbModuleTest extends SandboxTest {
     set(MainOptions.ATTRINCLUDE, "");
     set(MainOptions.TOKENINCLUDE, "");
     set(MainOptions.FTINCLUDE, "");
+    set(MainOptions.SERIALCACHE, false);
     execute(new DropDB(NAME));
   }
 
@@ -255,6 +256,37 @@ public final class DbModuleTest extends SandboxTest {
     error(func.args(NAME + "copy", NAME), DB_OPEN1_X);
   }
 
+  /** Test method. */
+  @Test public void createMemLimit() {
+    final IOFile file = new IOFile(sandbox(), "large.xml");
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 0; i < 100000; i++) sb.append("<a>").append(i).append("</a>");
+    write(file, sb.append("</x>").toString());
+
+    execute(new Close());
+
+    // input exceeds memory limit: temporary instance will be created on disk
+    final String limit = " map { '" + lc(MainOptions.MEMLIMIT) + "': 1 }";
+    query(_DB_CREATE.args(NAME, file.path(), "large.xml", limit));
+    query("count(" + _DB_OPEN.args(NAME) + "//a)", 100000);
+
+    // URIs and name of the document must not depend on the memory limit
+    final String doc = DOC.args(file.path());
+    final String props = "(" + DOCUMENT_URI.args(doc) + ", " + BASE_URI.args(doc) + ", " +
+        _DB_NAME.args(doc) + ")";
+    final String mem = query(props);
+    set(MainOptions.MEMLIMIT, 1);
+    try {
+      query("count(" + doc + "//a)", 100000);
+      query(props, mem);
+      // temporary database is not listed, and it is dropped after query execution
+      query(doc + " ! " + _DB_LIST.args(), NAME);
+      assertEquals(0, context.soptions.dbPath().children(".*large.*").length);
+    } finally {
+      set(MainOptions.MEMLIMIT, 0);
+    }
+  }
+
   /** Test method. */
   @Test public void create() {
     final Function func = _DB_CREATE;
@@ -635,6 +667,31 @@ public final class DbModuleTest extends SandboxTest {
     error(func.args(NAME, Integer.MAX_VALUE), DB_RANGE_X_X_X);
   }
 
+  /** Test method. */
+  @Test public void openSerialCache() {
+    final Function func = _DB_OPEN;
+    set(MainOptions.SERIALCACHE, true);
+    execute(new CreateDB(NAME, "<a b='1'>x</a>"));
+    final IOFile dir = context.data().meta.serialDir();
+    query(func.args(NAME), "<a b=\"1\">x</a>");
+    assertEquals(1, dir.children().length);
+    query(func.args(NAME), "<a b=\"1\">x</a>");
+    query(func.args(NAME) + ", 1", "<a b=\"1\">x</a>\n1");
+
+    // cache is located outside the database directory
+    assertFalse(dir.path().startsWith(context.soptions.dbPath(NAME).path()));
+
+    // cached documents are discarded after updates
+    query("insert node attribute c { 2 } into " + func.args(NAME) + "/a");
+    assertFalse(dir.exists());
+    query(func.args(NAME), "<a c=\"2\" b=\"1\">x</a>");
+    assertEquals(1, dir.children().length);
+
+    // cached documents are discarded if the database is dropped
+    execute(new DropDB(NAME));
+    assertFalse(dir.exists());
+  }
+
   /** Test method. */
   @Test public void optimize() {
     final Function func = _DB_OPTIMIZE;
@@ -401,6 +401,16 @@ public final class FnModuleTest extends QueryPlanTest {
     query(func.args("a", "", "j"), true);
     error(func.args("a", "+"), REGPAT_X);
     error(func.args("a", "+", "j"), REGPAT_X);
+
+    // simple patterns
+    query(func.args("abc", "^ab"), true);
+    query(func.args("abc", "^bc"), false);
+    query(func.args("abc", "bc$"), true);
+    query(func.args("a$", "a\\$"), true);
+    query(func.args("a,b", "[,;]"), true);
+    query(func.args("a.b", ".", "q"), true);
+    query(func.args("a\u2028", "a$"), true);
+    query(func.args("a\n", "a$"), false);
   }
 
   /** Test method. */
@@ -653,6 +663,13 @@ public final class FnModuleTest extends QueryPlanTest {
 
     query(func.args("a", "", "x", "j"), "xax");
     error(func.args("a", "", "x"), REGROUP);
+
+    // simple patterns
+    query(func.args("a-b-c", "-", ""), "abc");
+    query(func.args("abab", "^ab", "x"), "xab");
+    query(func.args("a.b", ".", "$", "q"), "a$b");
+    query(func.args("a,b", ",", "$0$0"), "a,,b");
+    error(func.args("a,b", ",", "$"), FUNREPDOL_X);
   }
 
   /** Test method. */
@@ -723,6 +740,11 @@ public final class FnModuleTest extends QueryPlanTest {
     query("for $i in (10000,10001) return " + func.args(" reverse(1 to $i)") + "[1]", "1\n1");
     query("for $i in (10000,10001) return " + func.args(func.args(" reverse(1 to $i)")) + "[1]");
     query("for $i in (1,2) return " + func.args(func.args(" (1,$i)")) + "[1]", "1\n1");
+    // stable sort of larger inputs
+    query(func.args(" 1 to 1000", " ()", " function($i) { $i mod 10 }") + "[position() < 4]",
+        "10\n20\n30");
+    query("deep-equal(" + func.args(" 1 to 1000", " ()", " function($i) { 0 }") + ", 1 to 1000)",
+        true);
 
     check(func.args(" ()"), "", empty());
     check(func.args(1), 1, empty(func));
@@ -982,6 +1004,11 @@ public final class FnModuleTest extends QueryPlanTest {
     final Function func = TOKENIZE;
     query(func.args("a", "", "j"), "\na\n");
     error(func.args("a", ""), REGROUP);
+    query(func.args("a,b;c", "[,;]"), "a\nb\nc");
+    query("count(" + func.args(",a,", ",") + ')', 3);
+    query("for $s in ('a,b', 'c', ',') return count(" + func.args(" $s", ",") + ')', "2\n1\n2");
+    // cached patterns of fn:matches must not be reused without check
+    error("(" + MATCHES.args("a", "") + ", " + func.args("a", "") + ')', REGROUP);
   }
 
   /** Test method. */
@@ -117,6 +117,18 @@ public final class MapModuleTest extends QueryPlanTest {
     // GH1602
     query("let $_ := 'combine' return " + func.args(" map { 0:1 }",
         " map { 'duplicates': $_ }") + "?0", 1);
+
+    // many maps: entries are collected in a map builder
+    query("map:size(" + func.args(" for $i in 1 to 100 return map { $i mod 10: $i }") + ")", 10);
+    query(func.args(" for $i in 1 to 100 return map { $i mod 10: $i }") + "(3)", 3);
+    query(func.args(" for $i in 1 to 100 return map { $i mod 10: $i }",
+        " map { 'duplicates': 'use-last' }") + "(3)", 93);
+    query("sum(" + func.args(" for $i in 1 to 100 return map { $i mod 10: $i }",
+        " map { 'duplicates': 'combine' }") + "(3))", 480);
+    query(DEEP_EQUAL.args(func.args(" for $i in 1 to 1000 return map { 'k' || $i: $i }"),
+        " fold-left(1 to 1000, map { }, function($m, $i) { map:put($m, 'k' || $i, $i) })"), true);
+    error(func.args(" for $i in 1 to 100 return map { $i mod 10: $i }",
+        " map { 'duplicates': 'reject' }"), MERGE_DUPLICATE_X);
   }
 
   /**
@@ -2,10 +2,14 @@ package org.basex.query.func;
 
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
 
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.core.jobs.*;
 import org.junit.Test;
 
 /**
@@ -119,6 +123,28 @@ public final class XQueryModuleTest extends SandboxTest {
     error(func.args(" error#0"), FUNERR1);
   }
 
+  /** Test method. */
+  @Test public void forkJoinPool() {
+    // queries share a single pool of the job pool
+    final ForkJoinPool pool = context.jobs.forkPool();
+    query(_XQUERY_FORK_JOIN.args(" (1 to 1000) ! function() { 1 }") + " => sum()", 1000);
+    assertSame(pool, context.jobs.forkPool());
+    final int threads = context.soptions.get(StaticOptions.FORKTHREADS);
+    assertEquals(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+        pool.getParallelism());
+
+    // number of threads is bounded by the static option
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.FORKTHREADS, 2);
+    final JobPool jobs = new JobPool(sopts);
+    try {
+      assertEquals(2, jobs.forkPool().getParallelism());
+      assertSame(jobs.forkPool(), jobs.forkPool());
+    } finally {
+      jobs.close();
+    }
+  }
+
   /** Test method. */
   @Test public void parse() {
     final Function func = _XQUERY_PARSE;